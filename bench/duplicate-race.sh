@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+#
+# Fires concurrent creates and renames onto the same title for one user and
+# checks that exactly one of them wins, i.e. the (owner_id, title) unique
+# constraint rather than a read-then-write check decides the race:
+#
+#   bench/duplicate-race.sh target/demo-0.0.1-SNAPSHOT.jar
+#
+# The datasource is taken from the usual SPRING_DATASOURCE_* environment
+# variables. APP_CMD overrides the launch command entirely; CLIENTS and ROUNDS
+# control the amount of parallel load.
+set -euo pipefail
+
+JAR=${1:-target/demo-0.0.1-SNAPSHOT.jar}
+PORT=${PORT:-18080}
+CLIENTS=${CLIENTS:-32}
+ROUNDS=${ROUNDS:-20}
+BASE="http://localhost:${PORT}"
+WORK=$(mktemp -d)
+LOG="${WORK}/app.log"
+COOKIES="${WORK}/cookies"
+APP_CMD=${APP_CMD:-"java -jar ${JAR}"}
+
+cleanup() {
+  [[ -n "${APP_PID:-}" ]] && kill "${APP_PID}" 2>/dev/null || true
+  rm -rf "${WORK}"
+}
+trap cleanup EXIT
+
+${APP_CMD} --server.port="${PORT}" --todo.rate-limit.enabled=false > "${LOG}" 2>&1 &
+APP_PID=$!
+
+for _ in $(seq 1 120); do
+  grep -q "Started TodoApplication" "${LOG}" && break
+  kill -0 "${APP_PID}" 2>/dev/null || { cat "${LOG}"; exit 1; }
+  sleep 1
+done
+
+request() {
+  local method=$1 path=$2 body=$3
+  curl -s -o /dev/null -w '%{http_code}\n' -b "${COOKIES}" -X "${method}" \
+    -H 'Content-Type: application/json' -d "${body}" "${BASE}${path}"
+}
+export -f request
+export BASE COOKIES
+
+USERNAME="race$(date +%s)"
+curl -s -o /dev/null -c "${COOKIES}" -X POST -H 'Content-Type: application/json' \
+  -d "{\"username\":\"${USERNAME}\",\"email\":\"${USERNAME}@example.com\",\"password\":\"Bench-Passw0rd!\"}" \
+  "${BASE}/auth/signup"
+
+failures=0
+for round in $(seq 1 "${ROUNDS}"); do
+  title="create-${round}"
+  codes=$(seq 1 "${CLIENTS}" | xargs -P "${CLIENTS}" -I{} \
+    bash -c "request POST /todos '{\"title\":\"${title}\",\"status\":false}'" | sort | uniq -c | tr '\n' ' ')
+
+  for i in $(seq 1 "${CLIENTS}"); do
+    request POST /todos "{\"title\":\"rename-${round}-${i}\",\"status\":false}" > /dev/null
+  done
+  target="renamed-${round}"
+  rename_codes=$(seq 1 "${CLIENTS}" | xargs -P "${CLIENTS}" -I{} \
+    bash -c "request PUT /todos/title/rename-${round}-{} '{\"title\":\"${target}\",\"status\":false}'" | sort | uniq -c | tr '\n' ' ')
+
+  titles=$(curl -s -b "${COOKIES}" "${BASE}/todos")
+  created=$(grep -o "\"title\":\"${title}\"" <<< "${titles}" | wc -l)
+  renamed=$(grep -o "\"title\":\"${target}\"" <<< "${titles}" | wc -l)
+  printf 'round %2d  create: %s-> %d row(s)  rename: %s-> %d row(s)\n' \
+    "${round}" "${codes}" "${created}" "${rename_codes}" "${renamed}"
+  [[ "${created}" -eq 1 && "${renamed}" -eq 1 ]] || failures=$((failures + 1))
+done
+
+if [[ "${failures}" -gt 0 ]]; then
+  echo "${failures} round(s) produced duplicate or missing titles"
+  exit 1
+fi
+echo "no duplicates across ${ROUNDS} rounds of ${CLIENTS} concurrent requests"
@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+#
+# Counts the SQL statements Hibernate issues for each authenticated hot-path
+# request. Run it once against a jar built from the old tree and once against
+# the current one to compare:
+#
+#   bench/queries-per-request.sh target/demo-0.0.1-SNAPSHOT.jar
+#
+# The datasource is taken from the usual SPRING_DATASOURCE_* environment
+# variables. APP_CMD overrides the launch command entirely.
+set -euo pipefail
+
+JAR=${1:-target/demo-0.0.1-SNAPSHOT.jar}
+PORT=${PORT:-18080}
+BASE="http://localhost:${PORT}"
+WORK=$(mktemp -d)
+LOG="${WORK}/app.log"
+COOKIES="${WORK}/cookies"
+APP_CMD=${APP_CMD:-"java -jar ${JAR}"}
+
+cleanup() {
+  [[ -n "${APP_PID:-}" ]] && kill "${APP_PID}" 2>/dev/null || true
+  rm -rf "${WORK}"
+}
+trap cleanup EXIT
+
+${APP_CMD} --server.port="${PORT}" --logging.level.org.hibernate.SQL=DEBUG > "${LOG}" 2>&1 &
+APP_PID=$!
+
+for _ in $(seq 1 120); do
+  grep -q "Started TodoApplication" "${LOG}" && break
+  kill -0 "${APP_PID}" 2>/dev/null || { cat "${LOG}"; exit 1; }
+  sleep 1
+done
+
+sql_lines() {
+  grep -c "org.hibernate.SQL" "${LOG}" || true
+}
+
+call() {
+  local method=$1 path=$2 body=${3:-}
+  local before after
+  before=$(sql_lines)
+  if [[ -n "${body}" ]]; then
+    curl -s -o /dev/null -b "${COOKIES}" -c "${COOKIES}" -X "${method}" \
+      -H 'Content-Type: application/json' -d "${body}" "${BASE}${path}"
+  else
+    curl -s -o /dev/null -b "${COOKIES}" -c "${COOKIES}" -X "${method}" "${BASE}${path}"
+  fi
+  sleep 0.2
+  after=$(sql_lines)
+  printf '%-8s %-28s %3d statements\n' "${method}" "${path}" "$((after - before))"
+}
+
+USERNAME="bench$(date +%s)"
+call POST /auth/signup "{\"username\":\"${USERNAME}\",\"email\":\"${USERNAME}@example.com\",\"password\":\"Bench-Passw0rd!\"}"
+call POST /todos '{"title":"first","status":false}'
+call GET /todos
+call GET /todos/status/false
+call GET /dashboard
+call GET /auth/me
+call PUT /todos/title/first '{"title":"first","status":true}'
@@ -0,0 +1,101 @@
+#!/usr/bin/env bash
+#
+# Measures time from JVM launch to the first successful GET /todos (login included, as a
+# freshly scaled-out node would see it) and the resident set size at that moment, for the
+# regular jar and for the fast-startup artifact (AOT + CDS + lazy init):
+#
+#   mvn -Pfast-startup -Dfrontend.skip=true verify
+#   bench/startup.sh
+#
+# The datasource is taken from the usual SPRING_DATASOURCE_* environment variables; the
+# database must be reachable before the clock starts. BASELINE_CMD and FAST_CMD override the
+# launch commands, RUNS sets the number of launches per variant (the median is reported).
+# FAST_CMD runs from the extracted directory: the CDS archive is only mapped when the class
+# path matches the training run's relative jar path.
+set -euo pipefail
+
+TARGET=$(cd "${TARGET:-target}" && pwd)
+PORT=${PORT:-18080}
+RUNS=${RUNS:-5}
+BASE="http://localhost:${PORT}"
+WORK=$(mktemp -d)
+COOKIES="${WORK}/cookies"
+BASELINE_CMD=${BASELINE_CMD:-"java -jar ${TARGET}/demo-0.0.1-SNAPSHOT.jar"}
+FAST_DIR=${TARGET}/fast-startup
+FAST_CMD=${FAST_CMD:-"java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup -jar demo-0.0.1-SNAPSHOT.jar"}
+USERNAME=startupbench
+PASSWORD=Bench-Passw0rd!
+
+cleanup() {
+  [[ -n "${APP_PID:-}" ]] && kill "${APP_PID}" 2>/dev/null || true
+  rm -rf "${WORK}"
+}
+trap cleanup EXIT
+
+now_ms() {
+  date +%s%3N
+}
+
+first_todos() {
+  curl -s -o /dev/null -w '%{http_code}' -c "${COOKIES}" -X POST -H 'Content-Type: application/json' \
+    -d "{\"username\":\"${USERNAME}\",\"password\":\"${PASSWORD}\"}" "${BASE}/auth/login" | grep -q 200 &&
+  curl -s -o /dev/null -w '%{http_code}' -b "${COOKIES}" "${BASE}/todos" | grep -q 200
+}
+
+launch() {
+  local dir=$1 cmd=$2 log=$3
+  (cd "${dir}" && exec ${cmd} --server.port="${PORT}" --todo.rate-limit.enabled=false) > "${log}" 2>&1 &
+  APP_PID=$!
+}
+
+stop() {
+  kill "${APP_PID}" 2>/dev/null || true
+  wait "${APP_PID}" 2>/dev/null || true
+  APP_PID=
+}
+
+measure() {
+  local dir=$1 cmd=$2 log=$3 started elapsed rss
+  rm -f "${COOKIES}"
+  started=$(now_ms)
+  launch "${dir}" "${cmd}" "${log}"
+  until first_todos; do
+    kill -0 "${APP_PID}" 2>/dev/null || { cat "${log}" >&2; exit 1; }
+    sleep 0.02
+  done
+  elapsed=$(( $(now_ms) - started ))
+  rss=$(ps -o rss= -p "${APP_PID}" | tr -d ' ')
+  stop
+  echo "${elapsed} $(( rss / 1024 ))"
+}
+
+median() {
+  sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+# Create the benchmark user once; later runs only log in.
+launch "${PWD}" "${BASELINE_CMD}" "${WORK}/setup.log"
+until curl -s -o /dev/null "${BASE}/auth/login"; do
+  kill -0 "${APP_PID}" 2>/dev/null || { cat "${WORK}/setup.log" >&2; exit 1; }
+  sleep 0.2
+done
+curl -s -o /dev/null -X POST -H 'Content-Type: application/json' \
+  -d "{\"username\":\"${USERNAME}\",\"email\":\"${USERNAME}@example.com\",\"password\":\"${PASSWORD}\"}" \
+  "${BASE}/auth/signup"
+stop
+
+printf '%-10s %28s %16s\n' variant "first GET /todos (median ms)" "RSS (median MB)"
+for variant in baseline fast; do
+  if [[ ${variant} == baseline ]]; then
+    dir=${PWD} cmd=${BASELINE_CMD}
+  else
+    dir=${FAST_DIR} cmd=${FAST_CMD}
+  fi
+  : > "${WORK}/${variant}.results"
+  for run in $(seq 1 "${RUNS}"); do
+    measure "${dir}" "${cmd}" "${WORK}/${variant}-${run}.log" >> "${WORK}/${variant}.results"
+  done
+  printf '%-10s %28s %16s\n' "${variant}" \
+    "$(cut -d' ' -f1 "${WORK}/${variant}.results" | median)" \
+    "$(cut -d' ' -f2 "${WORK}/${variant}.results" | median)"
+done
@@ -0,0 +1,92 @@
+#!/usr/bin/env bash
+#
+# Compares platform-thread and virtual-thread request handling on the
+# authenticated read endpoints under high concurrency.
+#
+#   mvn -Pjava21 -DskipTests package
+#   bench/virtual-threads.sh target/demo-0.0.1-SNAPSHOT.jar
+#
+# Needs a Java 21 runtime, wrk (https://github.com/wg/wrk) and a database
+# configured through the usual SPRING_DATASOURCE_* environment variables.
+# Both runs use the same jar, database and Hikari pool; only
+# spring.threads.virtual.enabled differs. Tunables:
+#   CONNECTIONS  concurrent wrk connections     (default 2000)
+#   DURATION     wrk duration per endpoint      (default 30s)
+#   THREADS      wrk threads                    (default 8)
+#   SEED_TODOS   todos created for the bench user (default 200)
+#   TOMCAT_THREADS  platform worker pool size   (default 200, Tomcat's default)
+set -euo pipefail
+
+JAR=${1:-target/demo-0.0.1-SNAPSHOT.jar}
+PORT=${PORT:-18080}
+BASE="http://localhost:${PORT}"
+CONNECTIONS=${CONNECTIONS:-2000}
+DURATION=${DURATION:-30s}
+THREADS=${THREADS:-8}
+SEED_TODOS=${SEED_TODOS:-200}
+TOMCAT_THREADS=${TOMCAT_THREADS:-200}
+WORK=$(mktemp -d)
+APP_CMD=${APP_CMD:-"java -Djdk.tracePinnedThreads=short -jar ${JAR}"}
+
+command -v wrk >/dev/null || { echo "wrk is required" >&2; exit 1; }
+
+cleanup() {
+  [[ -n "${APP_PID:-}" ]] && kill "${APP_PID}" 2>/dev/null || true
+  rm -rf "${WORK}"
+}
+trap cleanup EXIT
+
+start_app() {
+  local log=$1; shift
+  ${APP_CMD} --server.port="${PORT}" --server.tomcat.threads.max="${TOMCAT_THREADS}" --todo.rate-limit.enabled=false "$@" > "${log}" 2>&1 &
+  APP_PID=$!
+  for _ in $(seq 1 120); do
+    grep -q "Started TodoApplication" "${log}" && return 0
+    kill -0 "${APP_PID}" 2>/dev/null || { cat "${log}"; exit 1; }
+    sleep 1
+  done
+  echo "application did not start" >&2
+  exit 1
+}
+
+stop_app() {
+  kill "${APP_PID}" 2>/dev/null || true
+  wait "${APP_PID}" 2>/dev/null || true
+  APP_PID=
+}
+
+login() {
+  local mode=$1
+  local cookies="${WORK}/${mode}.cookies" username="bench-${mode}-$(date +%s)"
+  curl -s -o /dev/null -c "${cookies}" -H 'Content-Type: application/json' \
+    -d "{\"username\":\"${username}\",\"email\":\"${username}@example.com\",\"password\":\"Bench-Passw0rd!\"}" \
+    "${BASE}/auth/signup"
+  for i in $(seq 1 "${SEED_TODOS}"); do
+    local status=false
+    (( i % 3 == 0 )) && status=true
+    curl -s -o /dev/null -b "${cookies}" -H 'Content-Type: application/json' \
+      -d "{\"title\":\"task ${i}\",\"status\":${status}}" "${BASE}/todos"
+  done
+  sed 's/^#HttpOnly_//' "${cookies}" | awk '!/^#/ && NF >= 7 { printf "%s%s=%s", sep, $6, $7; sep="; " }'
+}
+
+run_mode() {
+  local mode=$1; shift
+  echo "=== ${mode} threads ==="
+  start_app "${WORK}/${mode}.log" "$@"
+  local cookie
+  cookie=$(login "${mode}")
+  for path in /todos /dashboard; do
+    echo "--- GET ${path} (${CONNECTIONS} connections, ${DURATION})"
+    wrk -t"${THREADS}" -c"${CONNECTIONS}" -d"${DURATION}" --latency \
+      -H "Cookie: ${cookie}" "${BASE}${path}" | grep -E "Latency|50%|99%|Requests/sec|Non-2xx|Socket errors"
+  done
+  if grep -q "VirtualThread" "${WORK}/${mode}.log"; then
+    echo "--- pinned virtual threads reported:"
+    grep -c "reason:" "${WORK}/${mode}.log" || true
+  fi
+  stop_app
+}
+
+run_mode platform --spring.threads.virtual.enabled=false
+run_mode virtual --spring.profiles.active=virtual-threads
@@ -0,0 +1,54 @@
+package com.todo.todo.benchmark;
+
+import com.todo.todo.model.AppUser;
+import com.todo.todo.model.Role;
+import com.todo.todo.security.AppUserDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppUserDetailsBenchmark {
+
+    @Param({"USER", "ADMIN"})
+    private Role role;
+
+    private AppUserDetails details;
+
+    @Setup
+    public void setUp() {
+        details = new AppUserDetails(new AppUser(1L, "bench", "bench@bench.local", "hash", role));
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return details.getAuthorities();
+    }
+
+    @Benchmark
+    public boolean hasAdminRole() {
+        for (GrantedAuthority authority : details.getAuthorities()) {
+            if ("ROLE_ADMIN".equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
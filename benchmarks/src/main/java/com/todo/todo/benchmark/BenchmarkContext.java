@@ -0,0 +1,44 @@
+package com.todo.todo.benchmark;
+
+import com.todo.todo.TodoApplication;
+import com.todo.todo.model.AppUser;
+import com.todo.todo.model.Role;
+import com.todo.todo.repository.AppUserRepository;
+import com.todo.todo.service.TodoCounterService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(TodoApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID()
+                                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false"
+                )
+                .run();
+    }
+
+    static AppUser createUser(ConfigurableApplicationContext context, String username) {
+        AppUser user = new AppUser();
+        user.setUsername(username);
+        user.setEmail(username + "@bench.local");
+        user.setPasswordHash("not-a-real-hash");
+        user.setRole(Role.USER);
+        AppUser saved = context.getBean(AppUserRepository.class).save(user);
+        context.getBean(TodoCounterService.class).createForOwner(saved.getId());
+        return saved;
+    }
+}
@@ -0,0 +1,75 @@
+package com.todo.todo.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.todo.todo.dto.DashboardResponse;
+import com.todo.todo.dto.TodoView;
+import com.todo.todo.model.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    private int listSize;
+
+    private ObjectWriter todoListWriter;
+    private ObjectWriter todoViewListWriter;
+    private ObjectWriter dashboardWriter;
+    private List<Todo> todos;
+    private List<TodoView> todoViews;
+    private DashboardResponse dashboard;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        todoListWriter = objectMapper.writerFor(new TypeReference<List<Todo>>() { });
+        todoViewListWriter = objectMapper.writerFor(new TypeReference<List<TodoView>>() { });
+        dashboardWriter = objectMapper.writerFor(DashboardResponse.class);
+
+        todos = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            todos.add(new Todo((long) i + 1, "Task number " + i, i % 3 == 0, null, null));
+        }
+        todoViews = todos.stream().map(todo -> new TodoView(todo.getId(), todo.getTitle(), todo.isStatus())).toList();
+        long completed = todos.stream().filter(Todo::isStatus).count();
+        dashboard = new DashboardResponse("bench", "USER", listSize, listSize - completed, completed);
+    }
+
+    @Benchmark
+    public byte[] writeTodoList() throws JsonProcessingException {
+        return todoListWriter.writeValueAsBytes(todos);
+    }
+
+    @Benchmark
+    public byte[] writeTodoViewList() throws JsonProcessingException {
+        return todoViewListWriter.writeValueAsBytes(todoViews);
+    }
+
+    @Benchmark
+    public byte[] writeDashboard() throws JsonProcessingException {
+        return dashboardWriter.writeValueAsBytes(dashboard);
+    }
+}
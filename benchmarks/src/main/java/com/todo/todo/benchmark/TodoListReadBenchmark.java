@@ -0,0 +1,77 @@
+package com.todo.todo.benchmark;
+
+import com.todo.todo.dto.TodoBatchOperation;
+import com.todo.todo.dto.TodoView;
+import com.todo.todo.model.AppUser;
+import com.todo.todo.model.Todo;
+import com.todo.todo.repository.TodoRepository;
+import com.todo.todo.service.TodoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoListReadBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param({"100", "1000", "10000"})
+    private int todoCount;
+
+    private ConfigurableApplicationContext context;
+    private TodoRepository todoRepository;
+    private TodoService todoService;
+    private AppUser user;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        todoRepository = context.getBean(TodoRepository.class);
+        todoService = context.getBean(TodoService.class);
+        user = BenchmarkContext.createUser(context, "reader");
+
+        List<TodoBatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < todoCount; i++) {
+            operations.add(new TodoBatchOperation("create", null, "Task " + i, i % 2 == 0));
+            if (operations.size() == SEED_BATCH_SIZE || i == todoCount - 1) {
+                todoService.applyBatchForUser(user, operations);
+                operations = new ArrayList<>();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Todo> entities() {
+        return todoRepository.findByOwnerId(user.getId());
+    }
+
+    @Benchmark
+    public List<TodoView> projections() {
+        return todoService.getAllTodosForUser(user);
+    }
+}
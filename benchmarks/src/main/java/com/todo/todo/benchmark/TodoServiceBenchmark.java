@@ -0,0 +1,120 @@
+package com.todo.todo.benchmark;
+
+import com.todo.todo.dto.TodoBatchOperation;
+import com.todo.todo.dto.TodoPage;
+import com.todo.todo.dto.TodoView;
+import com.todo.todo.model.AppUser;
+import com.todo.todo.model.Todo;
+import com.todo.todo.model.TodoCounter;
+import com.todo.todo.service.TodoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoServiceBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 500;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10", "100", "1000"})
+    private int todoCount;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private AppUser user;
+    private Long targetId;
+    private String targetTitle;
+    private boolean targetStatus;
+    private long scratchSequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        todoService = context.getBean(TodoService.class);
+        user = BenchmarkContext.createUser(context, "bench");
+
+        List<TodoBatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < todoCount; i++) {
+            operations.add(new TodoBatchOperation("create", null, "Task " + i, i % 2 == 0));
+            if (operations.size() == SEED_BATCH_SIZE || i == todoCount - 1) {
+                todoService.applyBatchForUser(user, operations);
+                operations = new ArrayList<>();
+            }
+        }
+
+        List<TodoView> todos = todoService.getAllTodosForUser(user);
+        TodoView target = todos.get(todos.size() / 2);
+        targetId = target.id();
+        targetTitle = target.title();
+        targetStatus = target.status();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TodoView> listAll() {
+        return todoService.getAllTodosForUser(user);
+    }
+
+    @Benchmark
+    public List<TodoView> listCompleted() {
+        return todoService.getTodosByStatusForUser(user, true);
+    }
+
+    @Benchmark
+    public TodoPage firstPage() {
+        return todoService.getTodoPageForUser(user, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Todo findById() {
+        return todoService.getTodoByIdForUser(user, targetId);
+    }
+
+    @Benchmark
+    public Todo findByTitle() {
+        return todoService.getTodoByTitleForUser(user, targetTitle);
+    }
+
+    @Benchmark
+    public TodoCounter counters() {
+        return todoService.getCountersForUser(user);
+    }
+
+    @Benchmark
+    public Todo toggleStatus() {
+        targetStatus = !targetStatus;
+        return todoService.updateTodoForUser(user, targetId, new Todo(null, targetTitle, targetStatus, null, null));
+    }
+
+    @Benchmark
+    public Long createAndDelete() {
+        Todo created = todoService.createTodoForUser(user, new Todo(null, "Scratch " + scratchSequence++, false, null, null));
+        todoService.deleteTodoForUser(user, created.getId());
+        return created.getId();
+    }
+}
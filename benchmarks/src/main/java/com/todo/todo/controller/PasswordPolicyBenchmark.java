@@ -0,0 +1,48 @@
+package com.todo.todo.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordPolicyBenchmark {
+
+    private static final Map<String, String> PASSWORDS = Map.of(
+            "strong", "Correct-Horse-Battery-9",
+            "tooShort", "Ab1!",
+            "whitespace", "Correct Horse Battery 9!",
+            "missingSpecial", "CorrectHorseBattery9",
+            "long", "Correct-Horse-Battery-9".repeat(20)
+    );
+
+    @Param({"strong", "tooShort", "whitespace", "missingSpecial", "long"})
+    private String input;
+
+    private String password;
+
+    @Setup
+    public void setUp() {
+        password = PASSWORDS.get(input);
+    }
+
+    @Benchmark
+    public boolean isStrongPassword() {
+        return AuthController.isStrongPassword(password);
+    }
+}
@@ -0,0 +1,53 @@
+package com.todo.todo.security;
+
+import com.todo.todo.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "100000"})
+    private int users;
+
+    private RateLimiter rateLimiter;
+
+    @Setup
+    public void setUp() {
+        rateLimiter = new RateLimiter(
+                Map.of(Role.USER, RateLimiter.Limit.of(1_000_000, 1_000)),
+                RateLimiter.Limit.of(5, 20),
+                Duration.ofMinutes(1),
+                1_000_000,
+                new SimpleMeterRegistry()
+        );
+    }
+
+    @Benchmark
+    public long acquireForUser() {
+        long userId = users == 1 ? 1 : ThreadLocalRandom.current().nextInt(users);
+        return rateLimiter.acquireForUser(userId, Role.USER);
+    }
+}
@@ -0,0 +1,78 @@
+package com.todo.todo.security;
+
+import com.todo.todo.model.AppUser;
+import com.todo.todo.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.ref.Reference;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public final class SessionFootprint {
+
+    private static final int SESSIONS = 100_000;
+
+    private SessionFootprint() {
+    }
+
+    public static void main(String[] args) {
+        String passwordHash = new BCryptPasswordEncoder(4).encode("Correct-Horse-Battery-9");
+
+        long legacyBytes = retainedBytes(() -> {
+            Map<String, SecurityContext> sessions = new HashMap<>(SESSIONS * 2);
+            for (int i = 0; i < SESSIONS; i++) {
+                String userHash = passwordHash.substring(0, passwordHash.length() - 1) + (i % 10);
+                AppUser user = new AppUser((long) i, "user" + i, "user" + i + "@example.com", userHash, Role.USER);
+                AppUserDetails details = new AppUserDetails(user);
+                sessions.put(SessionTokens.newToken(), new SecurityContextImpl(
+                        UsernamePasswordAuthenticationToken.authenticated(details, null, details.getAuthorities())));
+            }
+            return sessions;
+        });
+
+        long storeBytes = retainedBytes(() -> {
+            InMemorySessionStore store =
+                    new InMemorySessionStore(Duration.ofMinutes(30), SESSIONS * 2L, new SimpleMeterRegistry());
+            for (int i = 0; i < SESSIONS; i++) {
+                store.create(new SessionPrincipal((long) i, "user" + i, Role.USER));
+            }
+            return store;
+        });
+
+        byte[] encoded = new SessionPrincipal(1L, "user1", Role.USER).encode();
+        int rowBytes = 64 + Long.BYTES + encoded.length + Long.BYTES;
+
+        System.out.printf("sessions measured:                       %d%n", SESSIONS);
+        System.out.printf("SecurityContext keyed by token (heap):   %d bytes/session%n", legacyBytes / SESSIONS);
+        System.out.printf("InMemorySessionStore (heap):             %d bytes/session%n", storeBytes / SESSIONS);
+        System.out.printf("Encoded SessionPrincipal:                %d bytes%n", encoded.length);
+        System.out.printf("DatabaseSessionStore row (payload):      %d bytes/session%n", rowBytes);
+    }
+
+    private static long retainedBytes(Supplier<Object> factory) {
+        long before = usedHeap();
+        Object retained = factory.get();
+        long after = usedHeap();
+        Reference.reachabilityFence(retained);
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,71 @@
+package com.todo.todo.service;
+
+import com.todo.todo.model.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "buy", "milk", "call", "mom", "review", "pull", "request", "book", "flight", "pay",
+            "invoice", "clean", "garage", "write", "report", "plan", "sprint", "fix", "bug", "update",
+            "dependencies", "renew", "passport", "schedule", "dentist", "order", "groceries", "prepare", "slides", "backup"
+    };
+
+    @Param({"50000"})
+    private int todoCount;
+
+    @Param({"b", "re", "rep", "invoice", "sprint 4", "xyz"})
+    private String query;
+
+    private TodoSearchIndex index;
+    private TodoSearchIndex writtenIndex;
+    private Random writes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<TodoCache.CachedTodo> todos = new ArrayList<>(todoCount);
+        for (int i = 0; i < todoCount; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            todos.add(new TodoCache.CachedTodo((long) i + 1, title, random.nextBoolean()));
+        }
+        index = new TodoSearchIndex(todos);
+        writtenIndex = index;
+        writes = new Random(7);
+    }
+
+    @Benchmark
+    public List<Todo> search() {
+        return index.search(query, 20);
+    }
+
+    @Benchmark
+    public List<Todo> searchAfterWrite() {
+        long id = writes.nextInt(todoCount) + 1;
+        String title = WORDS[writes.nextInt(WORDS.length)] + " " + WORDS[writes.nextInt(WORDS.length)] + " " + id;
+        writtenIndex = writtenIndex.withChange(id, new TodoCache.CachedTodo(id, title, writes.nextBoolean()));
+        return writtenIndex.search(query, 20);
+    }
+}
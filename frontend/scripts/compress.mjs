@@ -0,0 +1,35 @@
+// Writes .gz and .br siblings for the built assets so the server can send them without compressing per request.
+import { readdirSync, readFileSync, statSync, writeFileSync } from "node:fs";
+import { join } from "node:path";
+import { fileURLToPath } from "node:url";
+import { brotliCompressSync, constants, gzipSync } from "node:zlib";
+
+const root = fileURLToPath(new URL("../../src/main/resources/static/", import.meta.url));
+const compressible = /\.(js|css|html|svg|json|txt|map)$/;
+const minBytes = 1024;
+
+const walk = (dir) =>
+  readdirSync(dir).flatMap((name) => {
+    const path = join(dir, name);
+    return statSync(path).isDirectory() ? walk(path) : [path];
+  });
+
+for (const file of walk(root)) {
+  if (!compressible.test(file)) {
+    continue;
+  }
+  const source = readFileSync(file);
+  if (source.length < minBytes) {
+    continue;
+  }
+  const gzip = gzipSync(source, { level: 9 });
+  const brotli = brotliCompressSync(source, {
+    params: {
+      [constants.BROTLI_PARAM_QUALITY]: constants.BROTLI_MAX_QUALITY,
+      [constants.BROTLI_PARAM_SIZE_HINT]: source.length,
+    },
+  });
+  writeFileSync(`${file}.gz`, gzip);
+  writeFileSync(`${file}.br`, brotli);
+  console.log(`${file.slice(root.length)}: ${source.length} -> gzip ${gzip.length}, br ${brotli.length}`);
+}
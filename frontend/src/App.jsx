@@ -1,4 +1,4 @@
-import { useEffect, useMemo, useState } from "react";
+import { useEffect, useMemo, useRef, useState } from "react";
 import { api } from "./api.js";
 
 const statusLabel = (value) => (value ? "Done" : "Open");
@@ -9,6 +9,23 @@ const StatusPill = ({ value }) => (
   </span>
 );
 
+const matchesFilter = (task, filter) =>
+  filter === "all" || (filter === "done") === task.status;
+
+const applyChange = (tasks, change, filter) => {
+  const task = { id: change.id, title: change.title, status: change.status };
+  const index = tasks.findIndex((item) => item.id === task.id);
+  if (change.type === "DELETED" || !matchesFilter(task, filter)) {
+    return index === -1 ? tasks : tasks.filter((item) => item.id !== task.id);
+  }
+  if (index === -1) {
+    return [...tasks, task];
+  }
+  const next = [...tasks];
+  next[index] = task;
+  return next;
+};
+
 const initialAuthForm = {
   username: "",
   email: "",
@@ -50,7 +67,9 @@ export default function App() {
   const [authMode, setAuthMode] = useState("login");
   const [authForm, setAuthForm] = useState(initialAuthForm);
   const [authError, setAuthError] = useState("");
+  const [availability, setAvailability] = useState({});
   const [loadingSession, setLoadingSession] = useState(true);
+  const filterRef = useRef(filter);
 
   const stats = useMemo(() => {
     const done = tasks.filter((task) => task.status).length;
@@ -107,6 +126,43 @@ export default function App() {
     await Promise.all([loadDashboard(), loadByFilter("all")]);
   };
 
+  useEffect(() => {
+    filterRef.current = filter;
+  }, [filter]);
+
+  useEffect(() => {
+    const username = authForm.username.trim();
+    const email = authForm.email.trim();
+    if (authMode !== "signup" || (!username && !email)) {
+      setAvailability({});
+      return undefined;
+    }
+    const timer = setTimeout(() => {
+      api.available({ username, email: email.includes("@") ? email : "" })
+        .then(setAvailability)
+        .catch(() => setAvailability({}));
+    }, 300);
+    return () => clearTimeout(timer);
+  }, [authMode, authForm.username, authForm.email]);
+
+  useEffect(() => {
+    if (!user) {
+      return undefined;
+    }
+
+    const source = api.events();
+    source.addEventListener("change", (event) => {
+      const change = JSON.parse(event.data);
+      setTasks((prev) => applyChange(prev, change, filterRef.current));
+      loadDashboard().catch(() => {});
+    });
+    source.addEventListener("reset", () => {
+      loadByFilter(filterRef.current);
+      loadDashboard().catch(() => {});
+    });
+    return () => source.close();
+  }, [user?.id]);
+
   useEffect(() => {
     const initSession = async () => {
       try {
@@ -151,11 +207,11 @@ export default function App() {
   const handleToggle = async (task) => {
     setStatus("Updating task...");
     try {
-      await api.updateById(task.id, {
+      const updated = await api.updateById(task.id, {
         title: task.title,
         status: !task.status,
       });
-      await Promise.all([loadByFilter(filter), loadDashboard()]);
+      setTasks((prev) => applyChange(prev, { ...updated, type: "UPDATED" }, filter));
       setStatus("Task updated.");
     } catch (error) {
       setStatus(`Error: ${error.message}`);
@@ -175,9 +231,9 @@ export default function App() {
 
     setStatus("Creating task...");
     try {
-      await api.create({ title: createTitle.trim(), status: false });
+      const created = await api.create({ title: createTitle.trim(), status: false });
       setCreateTitle("");
-      await Promise.all([loadByFilter(filter), loadDashboard()]);
+      setTasks((prev) => applyChange(prev, { ...created, type: "CREATED" }, filter));
       setStatus("Task created.");
     } catch (error) {
       setStatus(`Error: ${error.message}`);
@@ -235,6 +291,9 @@ export default function App() {
               placeholder="Username"
               required
             />
+            {authMode === "signup" && availability.username === false ? (
+              <span className="hint">That username is taken.</span>
+            ) : null}
             {authMode === "signup" ? (
               <input
                 type="email"
@@ -246,6 +305,9 @@ export default function App() {
                 required
               />
             ) : null}
+            {authMode === "signup" && availability.email === false ? (
+              <span className="hint">An account with that email already exists.</span>
+            ) : null}
             <input
               type="password"
               value={authForm.password}
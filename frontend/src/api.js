@@ -25,6 +25,12 @@ export const api = {
       method: "POST",
       body: JSON.stringify(payload),
     }),
+  available: ({ username, email }) => {
+    const params = new URLSearchParams();
+    if (username) params.set("username", username);
+    if (email) params.set("email", email);
+    return request(`/auth/available?${params}`);
+  },
   login: (payload) =>
     request("/auth/login", {
       method: "POST",
@@ -42,9 +48,23 @@ export const api = {
       method: "POST",
       body: JSON.stringify(payload),
     }),
+  batch: (operations) =>
+    request("/todos/batch", {
+      method: "POST",
+      body: JSON.stringify({ operations }),
+    }),
+  importFile: (file) =>
+    request("/todos/import", {
+      method: "POST",
+      headers: { "Content-Type": file.name.endsWith(".csv") ? "text/csv" : "application/json" },
+      body: file,
+    }),
+  events: () => new EventSource("/todos/events", { withCredentials: true }),
   byId: (id) => request(`/todos/${id}`),
   byTitle: (title) =>
     request(`/todos/title/${encodeURIComponent(title)}`),
+  search: (query, limit = 20) =>
+    request(`/todos/search?q=${encodeURIComponent(query)}&limit=${limit}`),
   byStatus: (status) => request(`/todos/status/${status}`),
   updateById: (id, payload) =>
     request(`/todos/${id}`, {
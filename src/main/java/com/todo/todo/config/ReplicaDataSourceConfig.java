@@ -0,0 +1,73 @@
+package com.todo.todo.config;
+
+import com.todo.todo.datasource.ReplicaRoutingDataSource;
+import com.todo.todo.datasource.ReplicaStickiness;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "todo.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("todo.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${todo.datasource.replica.url}") String url,
+            @Value("${todo.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${todo.datasource.replica.password:${spring.datasource.password:}}") String password
+    ) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setConnectionTimeout(1000);
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaStickiness replicaStickiness(
+            @Value("${todo.datasource.replica.stickiness:5s}") Duration window,
+            @Value("${todo.datasource.replica.max-pinned-users:100000}") long maxUsers,
+            @Value("${todo.datasource.replica.pin-cookie-name:TODO_PRIMARY_PIN}") String cookieName,
+            @Value("${todo.session.cookie-secure:false}") boolean secureCookie
+    ) {
+        return new ReplicaStickiness(window, maxUsers, cookieName, secureCookie);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaStickiness stickiness,
+            @Value("${todo.datasource.replica.retry-after:10s}") Duration retryAfter,
+            MeterRegistry meterRegistry
+    ) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, stickiness, retryAfter, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -1,5 +1,13 @@
 package com.todo.todo.config;
 
+import com.todo.todo.model.Role;
+import com.todo.todo.security.OffloadingPasswordEncoder;
+import com.todo.todo.security.RateLimitFilter;
+import com.todo.todo.security.RateLimiter;
+import com.todo.todo.security.SessionSecurityContextRepository;
+import com.todo.todo.security.SessionStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
@@ -7,20 +15,71 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 
 @Configuration
 @EnableMethodSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SessionSecurityContextRepository sessionSecurityContextRepository(
+            SessionStore sessionStore,
+            @Value("${todo.session.cookie-name:TODO_SESSION}") String cookieName,
+            @Value("${todo.session.cookie-secure:false}") boolean secureCookie
+    ) {
+        return new SessionSecurityContextRepository(sessionStore, cookieName, secureCookie);
+    }
+
+    @Bean
+    public RateLimiter rateLimiter(
+            @Value("${todo.rate-limit.user.requests-per-second:20}") double userRate,
+            @Value("${todo.rate-limit.user.burst:40}") int userBurst,
+            @Value("${todo.rate-limit.admin.requests-per-second:50}") double adminRate,
+            @Value("${todo.rate-limit.admin.burst:100}") int adminBurst,
+            @Value("${todo.rate-limit.anonymous.requests-per-second:5}") double anonymousRate,
+            @Value("${todo.rate-limit.anonymous.burst:20}") int anonymousBurst,
+            @Value("${todo.rate-limit.idle-timeout:1m}") Duration idleTimeout,
+            @Value("${todo.rate-limit.max-clients:1000000}") long maxClients,
+            MeterRegistry meterRegistry
+    ) {
+        Map<Role, RateLimiter.Limit> roleLimits = new EnumMap<>(Role.class);
+        roleLimits.put(Role.USER, RateLimiter.Limit.of(userRate, userBurst));
+        roleLimits.put(Role.ADMIN, RateLimiter.Limit.of(adminRate, adminBurst));
+        return new RateLimiter(
+                roleLimits,
+                RateLimiter.Limit.of(anonymousRate, anonymousBurst),
+                idleTimeout,
+                maxClients,
+                meterRegistry
+        );
+    }
+
+    @Bean
+    public SecurityFilterChain filterChain(
+            HttpSecurity http,
+            SessionSecurityContextRepository sessionSecurityContextRepository,
+            RateLimiter rateLimiter,
+            @Value("${todo.rate-limit.enabled:true}") boolean rateLimitEnabled
+    ) throws Exception {
+        if (rateLimitEnabled) {
+            http.addFilterBefore(new RateLimitFilter(rateLimiter), AuthorizationFilter.class);
+        }
         http
                 .csrf(csrf -> csrf.disable())
+                .securityContext(context -> context.securityContextRepository(sessionSecurityContextRepository))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/", "/index.html", "/assets/**", "/error", "/auth/signup", "/auth/login").permitAll()
+                        .requestMatchers("/", "/index.html", "/assets/**", "/error", "/auth/signup", "/auth/login", "/auth/available").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(ex -> ex
@@ -34,8 +93,21 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${todo.security.bcrypt.strength:10}") int strength,
+            @Value("${todo.security.bcrypt.threads:0}") int threads,
+            @Value("${todo.security.bcrypt.queue-capacity:64}") int queueCapacity,
+            @Value("${todo.security.bcrypt.retry-after:2s}") Duration retryAfter,
+            MeterRegistry meterRegistry
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(
+                new BCryptPasswordEncoder(strength),
+                poolSize,
+                queueCapacity,
+                retryAfter,
+                meterRegistry
+        );
     }
 
     @Bean
@@ -2,14 +2,23 @@ package com.todo.todo.controller;
 
 import com.todo.todo.dto.AuthRequest;
 import com.todo.todo.dto.AuthResponse;
+import com.todo.todo.dto.AvailabilityReport;
+import com.todo.todo.dto.AvailabilityResponse;
 import com.todo.todo.dto.SignupRequest;
 import com.todo.todo.model.AppUser;
 import com.todo.todo.model.Role;
 import com.todo.todo.repository.AppUserRepository;
+import com.todo.todo.security.AppUserDetails;
+import com.todo.todo.security.SessionPrincipal;
+import com.todo.todo.security.SessionSecurityContextRepository;
+import com.todo.todo.service.AccountAvailabilityService;
 import com.todo.todo.service.CurrentUserService;
+import com.todo.todo.service.TodoCounterService;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -17,7 +26,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -36,21 +44,34 @@ public class AuthController {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final CurrentUserService currentUserService;
+    private final TodoCounterService todoCounterService;
+    private final SessionSecurityContextRepository sessionRepository;
+    private final AccountAvailabilityService accountAvailability;
 
     public AuthController(
             AppUserRepository appUserRepository,
             PasswordEncoder passwordEncoder,
             AuthenticationManager authenticationManager,
-            CurrentUserService currentUserService
+            CurrentUserService currentUserService,
+            TodoCounterService todoCounterService,
+            SessionSecurityContextRepository sessionRepository,
+            AccountAvailabilityService accountAvailability
     ) {
         this.appUserRepository = appUserRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.currentUserService = currentUserService;
+        this.todoCounterService = todoCounterService;
+        this.sessionRepository = sessionRepository;
+        this.accountAvailability = accountAvailability;
     }
 
     @PostMapping("/signup")
-    public AuthResponse signup(@RequestBody SignupRequest request, HttpServletRequest httpRequest) {
+    public AuthResponse signup(
+            @RequestBody SignupRequest request,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse
+    ) {
         if (request.username() == null || request.username().isBlank()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Username is required");
         }
@@ -63,67 +84,110 @@ public class AuthController {
                     "Password must be at least 12 characters and include uppercase, lowercase, number, special character, and no spaces"
             );
         }
-        if (appUserRepository.existsByUsername(request.username())) {
+        String username = request.username().trim();
+        String email = request.email().trim();
+        if (!accountAvailability.isUsernameAvailable(username)) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Username already exists");
         }
-        if (appUserRepository.existsByEmail(request.email())) {
+        if (!accountAvailability.isEmailAvailable(email)) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already exists");
         }
 
         AppUser user = new AppUser();
-        user.setUsername(request.username().trim());
-        user.setEmail(request.email().trim());
+        user.setUsername(username);
+        user.setEmail(email);
         user.setPasswordHash(passwordEncoder.encode(request.password()));
         user.setRole(Role.USER);
-        user = appUserRepository.save(user);
+        try {
+            user = appUserRepository.save(user);
+        } catch (DataIntegrityViolationException exception) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Username or email already exists");
+        }
+        todoCounterService.createForOwner(user.getId());
 
-        authenticateAndCreateSession(user.getUsername(), request.password(), httpRequest);
+        authenticateAndCreateSession(user.getUsername(), request.password(), httpRequest, httpResponse);
         return AuthResponse.from(user);
     }
 
+    @GetMapping("/available")
+    public AvailabilityResponse available(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email
+    ) {
+        boolean hasUsername = username != null && !username.isBlank();
+        boolean hasEmail = email != null && !email.isBlank();
+        if (!hasUsername && !hasEmail) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Username or email is required");
+        }
+        return new AvailabilityResponse(
+                hasUsername ? accountAvailability.isUsernameAvailable(username.trim()) : null,
+                hasEmail ? accountAvailability.isEmailAvailable(email.trim()) : null
+        );
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/available/report")
+    public AvailabilityReport availabilityReport() {
+        return accountAvailability.report();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/available/rebuild")
+    public AvailabilityReport rebuildAvailability() {
+        accountAvailability.rebuild();
+        return accountAvailability.report();
+    }
+
     @PostMapping("/login")
-    public AuthResponse login(@RequestBody AuthRequest request, HttpServletRequest httpRequest) {
+    public AuthResponse login(
+            @RequestBody AuthRequest request,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse
+    ) {
         if (request.username() == null || request.password() == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Username and password are required");
         }
 
-        authenticateAndCreateSession(request.username(), request.password(), httpRequest);
-        AppUser user = appUserRepository.findByUsername(request.username())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials"));
-        return AuthResponse.from(user);
+        Authentication authentication =
+                authenticateAndCreateSession(request.username(), request.password(), httpRequest, httpResponse);
+        return AuthResponse.from(((AppUserDetails) authentication.getPrincipal()).getUser());
     }
 
     @GetMapping("/me")
     public AuthResponse me() {
-        return AuthResponse.from(currentUserService.getCurrentUser());
+        return AuthResponse.from(currentUserService.loadCurrentUser());
     }
 
     @PostMapping("/logout")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void logout(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session != null) {
-            session.invalidate();
-        }
+    public void logout(HttpServletRequest request, HttpServletResponse response) {
+        sessionRepository.endSession(request, response);
         SecurityContextHolder.clearContext();
     }
 
-    private void authenticateAndCreateSession(String username, String password, HttpServletRequest request) {
+    private Authentication authenticateAndCreateSession(
+            String username,
+            String password,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) {
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(username, password)
             );
+            SessionPrincipal principal = SessionPrincipal.from(((AppUserDetails) authentication.getPrincipal()).getUser());
             SecurityContext context = SecurityContextHolder.createEmptyContext();
-            context.setAuthentication(authentication);
+            context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                    principal, null, principal.authorities()));
             SecurityContextHolder.setContext(context);
-            request.getSession(true)
-                    .setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+            sessionRepository.startSession(principal, request, response);
+            return authentication;
         } catch (BadCredentialsException exception) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid credentials");
         }
     }
 
-    private boolean isStrongPassword(String password) {
+    static boolean isStrongPassword(String password) {
         if (password == null || password.length() < 12) {
             return false;
         }
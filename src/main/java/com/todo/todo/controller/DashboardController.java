@@ -2,11 +2,14 @@ package com.todo.todo.controller;
 
 import com.todo.todo.dto.DashboardResponse;
 import com.todo.todo.model.AppUser;
+import com.todo.todo.model.TodoCounter;
 import com.todo.todo.service.CurrentUserService;
 import com.todo.todo.service.TodoService;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/dashboard")
@@ -21,16 +24,17 @@ public class DashboardController {
     }
 
     @GetMapping
-    public DashboardResponse getDashboard() {
+    public ResponseEntity<DashboardResponse> getDashboard(WebRequest request) {
         AppUser user = currentUserService.getCurrentUser();
-        long total = todoService.countTotalForUser(user);
-        long completed = todoService.countCompletedForUser(user);
-        return new DashboardResponse(
+        TodoCounter counters = todoService.getCountersForUser(user);
+        String etag = "\"dashboard-" + user.getId() + "-" + counters.getVersion() + "-" + user.getRole().name() + "-"
+                + Integer.toHexString(user.getUsername().hashCode()) + "\"";
+        return ConditionalResponses.ifNoneMatch(request, etag, () -> new DashboardResponse(
                 user.getUsername(),
                 user.getRole().name(),
-                total,
-                total - completed,
-                completed
-        );
+                counters.getTotal(),
+                counters.getTotal() - counters.getCompleted(),
+                counters.getCompleted()
+        ));
     }
 }
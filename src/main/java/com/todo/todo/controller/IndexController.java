@@ -0,0 +1,50 @@
+package com.todo.todo.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+public class IndexController {
+
+    private final byte[] index;
+    private final String etag;
+
+    public IndexController(@Value("classpath:/static/index.html") Resource resource) throws IOException {
+        if (resource.exists()) {
+            try (InputStream in = resource.getInputStream()) {
+                this.index = in.readAllBytes();
+            }
+            this.etag = "\"" + DigestUtils.md5DigestAsHex(index) + "\"";
+        } else {
+            this.index = null;
+            this.etag = null;
+        }
+    }
+
+    @GetMapping(value = {"/", "/index.html"}, produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<byte[]> index(WebRequest request) {
+        if (index == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Frontend is not built");
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.TEXT_HTML);
+        if (request.checkNotModified(etag)) {
+            return response.build();
+        }
+        return response.body(index);
+    }
+}
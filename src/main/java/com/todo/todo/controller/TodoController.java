@@ -1,12 +1,38 @@
 package com.todo.todo.controller;
 
+import com.todo.todo.dto.TodoBatchRequest;
+import com.todo.todo.dto.TodoBatchResponse;
+import com.todo.todo.dto.TodoImportResponse;
+import com.todo.todo.dto.TodoPage;
+import com.todo.todo.dto.TodoView;
+import com.todo.todo.dto.TodoViewPage;
 import com.todo.todo.model.AppUser;
 import com.todo.todo.model.Todo;
 import com.todo.todo.service.CurrentUserService;
+import com.todo.todo.service.TodoEventHub;
+import com.todo.todo.service.TodoExportService;
+import com.todo.todo.service.TodoImportService;
 import com.todo.todo.service.TodoService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -14,30 +40,111 @@ import java.util.List;
 @CrossOrigin
 public class TodoController {
 
+    private static final Logger log = LoggerFactory.getLogger(TodoController.class);
+
     private final TodoService todoService;
     private final CurrentUserService currentUserService;
+    private final TodoExportService todoExportService;
+    private final TodoImportService todoImportService;
+    private final TodoEventHub todoEventHub;
 
-    public TodoController(TodoService todoService, CurrentUserService currentUserService) {
+    public TodoController(
+            TodoService todoService,
+            CurrentUserService currentUserService,
+            TodoExportService todoExportService,
+            TodoImportService todoImportService,
+            TodoEventHub todoEventHub
+    ) {
         this.todoService = todoService;
         this.currentUserService = currentUserService;
+        this.todoExportService = todoExportService;
+        this.todoImportService = todoImportService;
+        this.todoEventHub = todoEventHub;
     }
 
     @GetMapping
-    public List<Todo> getAllTodos() {
+    public ResponseEntity<List<TodoView>> getAllTodos(WebRequest request) {
         AppUser user = currentUserService.getCurrentUser();
-        return todoService.getAllTodosForUser(user);
+        String etag = "\"todos-" + user.getId() + "-" + todoService.getVersionForUser(user) + "\"";
+        return ConditionalResponses.ifNoneMatch(request, etag, () -> todoService.getAllTodosForUser(user));
+    }
+
+    @GetMapping(params = "limit")
+    public TodoPage getTodoPage(@RequestParam int limit, @RequestParam(required = false) Long cursor) {
+        AppUser user = currentUserService.getCurrentUser();
+        return todoService.getTodoPageForUser(user, cursor, limit);
+    }
+
+    @GetMapping(params = "archived=true")
+    public TodoViewPage getArchivedTodos(
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) Long cursor
+    ) {
+        AppUser user = currentUserService.getCurrentUser();
+        return todoService.getArchivedTodoPageForUser(user, cursor, limit);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/all")
-    public List<Todo> getAllTodosForAdmin() {
+    public List<TodoView> getAllTodosForAdmin() {
         return todoService.getAllTodosForAdmin();
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/admin/all", params = "limit")
+    public TodoPage getTodoPageForAdmin(@RequestParam int limit, @RequestParam(required = false) Long cursor) {
+        return todoService.getTodoPageForAdmin(cursor, limit);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/admin/export")
+    public void exportTodosForAdmin(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        todoService.flushPendingWrites();
+        switch (format) {
+            case "ndjson" -> {
+                response.setContentType("application/x-ndjson");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"todos.ndjson\"");
+                todoExportService.writeNdjson(response.getOutputStream());
+            }
+            case "csv" -> {
+                response.setContentType("text/csv;charset=UTF-8");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"todos.csv\"");
+                todoExportService.writeCsv(response.getOutputStream());
+            }
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Format must be ndjson or csv");
+        }
+    }
+
     @GetMapping("/status/{status}")
-    public List<Todo> getTodosByStatus(@PathVariable boolean status) {
+    public ResponseEntity<List<TodoView>> getTodosByStatus(@PathVariable boolean status, WebRequest request) {
         AppUser user = currentUserService.getCurrentUser();
-        return todoService.getTodosByStatusForUser(user, status);
+        String etag = "\"todos-" + user.getId() + "-" + todoService.getVersionForUser(user) + "-" + status + "\"";
+        return ConditionalResponses.ifNoneMatch(request, etag, () -> todoService.getTodosByStatusForUser(user, status));
+    }
+
+    @GetMapping(value = "/status/{status}", params = "limit")
+    public TodoPage getTodoPageByStatus(
+            @PathVariable boolean status,
+            @RequestParam int limit,
+            @RequestParam(required = false) Long cursor
+    ) {
+        AppUser user = currentUserService.getCurrentUser();
+        return todoService.getTodoPageByStatusForUser(user, status, cursor, limit);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        AppUser user = currentUserService.getCurrentUser();
+        return todoEventHub.subscribe(user.getId(), lastEventId);
+    }
+
+    @GetMapping("/search")
+    public List<Todo> searchTodos(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        AppUser user = currentUserService.getCurrentUser();
+        return todoService.searchTodosForUser(user, q, limit);
     }
 
     @GetMapping("/{id}")
@@ -58,10 +165,32 @@ public class TodoController {
         return todoService.createTodoForUser(user, todo);
     }
 
+    @PostMapping("/batch")
+    public TodoBatchResponse applyBatch(@RequestBody TodoBatchRequest request) {
+        AppUser user = currentUserService.getCurrentUser();
+        return todoService.applyBatchForUser(user, request.operations());
+    }
+
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public TodoImportResponse importJson(HttpServletRequest request) throws IOException {
+        AppUser user = currentUserService.getCurrentUser();
+        return todoImportService.importJson(user, request.getInputStream());
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public TodoImportResponse importCsv(HttpServletRequest request) throws IOException {
+        AppUser user = currentUserService.getCurrentUser();
+        Charset charset = request.getCharacterEncoding() == null
+                ? StandardCharsets.UTF_8
+                : Charset.forName(request.getCharacterEncoding());
+        return todoImportService.importCsv(user, new InputStreamReader(request.getInputStream(), charset));
+    }
+
     @PutMapping("/{id}")
     public Todo updateTodo(@PathVariable Long id, @RequestBody Todo todo) {
         AppUser user = currentUserService.getCurrentUser();
-        return todoService.updateTodoForUser(user, id, todo);
+        return todoService.deferStatusUpdateForUser(user, id, todo)
+                .orElseGet(() -> todoService.updateTodoForUser(user, id, todo));
     }
 
     @PutMapping("/title/{title}")
@@ -81,4 +210,18 @@ public class TodoController {
         AppUser user = currentUserService.getCurrentUser();
         todoService.deleteTodoByTitleForUser(user, title);
     }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public void handleDuplicateTitle(DataIntegrityViolationException exception, HttpServletResponse response)
+            throws IOException {
+        if (!TodoService.isDuplicateTitle(exception)) {
+            throw exception;
+        }
+        response.sendError(HttpStatus.CONFLICT.value(), "Task with this title already exists");
+    }
+
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleClientDisconnect(AsyncRequestNotUsableException exception) {
+        log.debug("Client went away before the response completed: {}", exception.getMessage());
+    }
 }
@@ -0,0 +1,95 @@
+package com.todo.todo.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaStickiness stickiness;
+    private final long retryAfterNanos;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter replicaFallbacks;
+    private volatile long replicaRetryAt;
+    private volatile boolean replicaDown;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            DataSource replica,
+            ReplicaStickiness stickiness,
+            Duration retryAfter,
+            MeterRegistry meterRegistry
+    ) {
+        this.primary = primary;
+        this.replica = replica;
+        this.stickiness = stickiness;
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.primaryConnections = Counter.builder("todo.datasource.connections")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        this.replicaConnections = Counter.builder("todo.datasource.connections")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        this.replicaFallbacks = Counter.builder("todo.datasource.replica.fallbacks")
+                .register(meterRegistry);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || stickiness.isCurrentUserPinned()
+                || replicaDown && System.nanoTime() - replicaRetryAt < 0) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineTargetDataSource() != replica) {
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.getConnection();
+            replicaDown = false;
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException exception) {
+            replicaFallbacks.increment();
+            if (!replicaDown) {
+                log.warn("Replica unavailable, routing reads to the primary: {}", exception.getMessage());
+            }
+            replicaRetryAt = System.nanoTime() + retryAfterNanos;
+            replicaDown = true;
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+}
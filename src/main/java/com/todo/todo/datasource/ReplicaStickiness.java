@@ -0,0 +1,117 @@
+package com.todo.todo.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todo.todo.security.AppUserDetails;
+import com.todo.todo.security.SessionPrincipal;
+import com.todo.todo.service.TodoChangeEvent;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+public class ReplicaStickiness {
+
+    private static final String COOKIE_WRITTEN = ReplicaStickiness.class.getName() + ".COOKIE_WRITTEN";
+
+    private final Cache<Long, Boolean> recentWriters;
+    private final Duration window;
+    private final String cookieName;
+    private final boolean secureCookie;
+
+    public ReplicaStickiness(Duration window, long maxUsers, String cookieName, boolean secureCookie) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(window)
+                .build();
+        this.window = window;
+        this.cookieName = cookieName;
+        this.secureCookie = secureCookie;
+    }
+
+    public void pin(Long userId) {
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+            writeCookie(userId);
+        }
+    }
+
+    public boolean isCurrentUserPinned() {
+        Long userId = currentUserId();
+        return userId != null && (recentWriters.getIfPresent(userId) != null || hasPinCookie(userId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTodoChange(TodoChangeEvent event) {
+        pin(event.ownerId());
+    }
+
+    private void writeCookie(Long userId) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        HttpServletResponse response = attributes.getResponse();
+        Long currentUserId = currentUserId();
+        if (response == null || response.isCommitted() || request.getAttribute(COOKIE_WRITTEN) != null
+                || currentUserId != null && !currentUserId.equals(userId)) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + window.toMillis();
+        ResponseCookie cookie = ResponseCookie.from(cookieName, userId + "." + expiresAt)
+                .path("/")
+                .maxAge(window.plusSeconds(1).toSeconds())
+                .httpOnly(true)
+                .secure(secureCookie)
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        request.setAttribute(COOKIE_WRITTEN, Boolean.TRUE);
+    }
+
+    private boolean hasPinCookie(Long userId) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getRequest().getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : attributes.getRequest().getCookies()) {
+            if (!cookieName.equals(cookie.getName())) {
+                continue;
+            }
+            String[] parts = cookie.getValue().split("\\.", 2);
+            if (parts.length != 2) {
+                return false;
+            }
+            try {
+                long remaining = Long.parseLong(parts[1]) - System.currentTimeMillis();
+                return userId.equals(Long.valueOf(parts[0])) && remaining > 0 && remaining <= window.toMillis();
+            } catch (NumberFormatException exception) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof SessionPrincipal principal) {
+            return principal.id();
+        }
+        if (authentication.getPrincipal() instanceof AppUserDetails details) {
+            return details.getUser().getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,4 @@
+package com.todo.todo.dto;
+
+public record AppUserNames(Long id, String username, String email) {
+}
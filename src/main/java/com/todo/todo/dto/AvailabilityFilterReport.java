@@ -0,0 +1,13 @@
+package com.todo.todo.dto;
+
+public record AvailabilityFilterReport(
+        long bits,
+        int hashFunctions,
+        double fillRatio,
+        double expectedFalsePositiveRate,
+        long definiteMisses,
+        long confirmedTaken,
+        long falsePositives,
+        double observedFalsePositiveRate
+) {
+}
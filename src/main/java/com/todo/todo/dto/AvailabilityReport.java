@@ -0,0 +1,12 @@
+package com.todo.todo.dto;
+
+import java.time.Instant;
+
+public record AvailabilityReport(
+        Instant builtAt,
+        long users,
+        long capacity,
+        AvailabilityFilterReport usernames,
+        AvailabilityFilterReport emails
+) {
+}
@@ -0,0 +1,4 @@
+package com.todo.todo.dto;
+
+public record OwnerTodoCounts(Long ownerId, Long total, Long completed) {
+}
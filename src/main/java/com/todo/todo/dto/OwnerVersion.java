@@ -0,0 +1,4 @@
+package com.todo.todo.dto;
+
+public record OwnerVersion(Long ownerId, long version) {
+}
@@ -0,0 +1,4 @@
+package com.todo.todo.dto;
+
+public record TodoBatchOperation(String op, Long id, String title, boolean status) {
+}
@@ -0,0 +1,6 @@
+package com.todo.todo.dto;
+
+import java.util.List;
+
+public record TodoBatchRequest(List<TodoBatchOperation> operations) {
+}
@@ -0,0 +1,13 @@
+package com.todo.todo.dto;
+
+import com.todo.todo.model.Todo;
+
+public record TodoBatchResult(int index, String op, int status, Todo todo, String error) {
+    public static TodoBatchResult ok(int index, String op, int status, Todo todo) {
+        return new TodoBatchResult(index, op, status, todo, null);
+    }
+
+    public static TodoBatchResult failed(int index, String op, int status, String error) {
+        return new TodoBatchResult(index, op, status, null, error);
+    }
+}
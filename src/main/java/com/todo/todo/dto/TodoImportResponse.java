@@ -0,0 +1,6 @@
+package com.todo.todo.dto;
+
+import java.util.List;
+
+public record TodoImportResponse(long received, long imported, long duplicates, long invalid, List<String> errors) {
+}
@@ -0,0 +1,8 @@
+package com.todo.todo.dto;
+
+import com.todo.todo.model.Todo;
+
+import java.util.List;
+
+public record TodoPage(List<Todo> items, Long next) {
+}
@@ -0,0 +1,4 @@
+package com.todo.todo.dto;
+
+public record TodoView(Long id, String title, boolean status) {
+}
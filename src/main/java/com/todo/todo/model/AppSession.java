@@ -0,0 +1,32 @@
+package com.todo.todo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "app_session", indexes = {
+        @Index(name = "idx_app_session_user_id", columnList = "user_id"),
+        @Index(name = "idx_app_session_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppSession {
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 512)
+    private byte[] principal;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
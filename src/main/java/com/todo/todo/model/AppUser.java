@@ -1,5 +1,6 @@
 package com.todo.todo.model;
 
+import com.todo.todo.security.AppUserChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "app_user")
+@EntityListeners(AppUserChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,29 @@
+package com.todo.todo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "archived_todo", indexes = @Index(name = "idx_archived_todo_owner_id", columnList = "owner_id, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTodo {
+
+    @Id
+    private Long id;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    private String title;
+
+    private Instant completedAt;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+}
@@ -4,14 +4,27 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
+
 @Entity
+@Table(
+        indexes = {
+                @Index(name = "idx_todo_owner_id", columnList = "owner_id, id"),
+                @Index(name = "idx_todo_owner_status_id", columnList = "owner_id, status, id"),
+                @Index(name = "idx_todo_status_completed_at", columnList = "status, completed_at")
+        },
+        uniqueConstraints = @UniqueConstraint(name = Todo.UNIQUE_TITLE, columnNames = {"owner_id", "title"})
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Todo {
 
+    public static final String UNIQUE_TITLE = "uk_todo_owner_title";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_seq")
+    @SequenceGenerator(name = "todo_seq", sequenceName = "todo_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -22,4 +35,17 @@ public class Todo {
     @JoinColumn(name = "owner_id")
     @JsonIgnore
     private AppUser owner;
+
+    @JsonIgnore
+    private Instant completedAt;
+
+    @PrePersist
+    @PreUpdate
+    void trackCompletion() {
+        if (!status) {
+            completedAt = null;
+        } else if (completedAt == null) {
+            completedAt = Instant.now();
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package com.todo.todo.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "todo_counter")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoCounter {
+
+    @Id
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long completed;
+
+    @Column(nullable = false)
+    private long version;
+}
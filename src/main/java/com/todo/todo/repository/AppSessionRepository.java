@@ -0,0 +1,27 @@
+package com.todo.todo.repository;
+
+import com.todo.todo.model.AppSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+
+public interface AppSessionRepository extends JpaRepository<AppSession, String> {
+
+    @Modifying
+    @Query("update AppSession s set s.expiresAt = :expiresAt where s.id = :id")
+    int touch(String id, Instant expiresAt);
+
+    @Modifying
+    @Query("update AppSession s set s.principal = :principal where s.userId = :userId")
+    int updatePrincipalByUserId(Long userId, byte[] principal);
+
+    @Modifying
+    @Query("delete from AppSession s where s.userId = :userId")
+    int deleteByUserId(Long userId);
+
+    @Modifying
+    @Query("delete from AppSession s where s.expiresAt < :now")
+    int deleteExpired(Instant now);
+}
@@ -1,12 +1,23 @@
 package com.todo.todo.repository;
 
+import com.todo.todo.dto.AppUserNames;
 import com.todo.todo.model.AppUser;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface AppUserRepository extends JpaRepository<AppUser, Long> {
     Optional<AppUser> findByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("select u.id from AppUser u where u.id > :after order by u.id")
+    List<Long> findIdsAfter(Long after, Limit limit);
+
+    @Query("select new com.todo.todo.dto.AppUserNames(u.id, u.username, u.email) "
+            + "from AppUser u where u.id > :after order by u.id")
+    List<AppUserNames> findNamesAfter(Long after, Limit limit);
 }
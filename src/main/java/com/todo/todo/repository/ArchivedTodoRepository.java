@@ -0,0 +1,30 @@
+package com.todo.todo.repository;
+
+import com.todo.todo.dto.OwnerTodoCounts;
+import com.todo.todo.dto.TodoView;
+import com.todo.todo.model.ArchivedTodo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedTodoRepository extends JpaRepository<ArchivedTodo, Long> {
+    long countByOwnerId(Long ownerId);
+
+    @Query("select new com.todo.todo.dto.TodoView(a.id, a.title, true) "
+            + "from ArchivedTodo a where a.ownerId = :ownerId and a.id > :id order by a.id")
+    List<TodoView> findViewsByOwnerIdAfter(Long ownerId, Long id, Limit limit);
+
+    @Query("select new com.todo.todo.dto.OwnerTodoCounts(a.ownerId, count(a), count(a)) "
+            + "from ArchivedTodo a where a.ownerId in :ownerIds group by a.ownerId")
+    List<OwnerTodoCounts> countByOwnerIdIn(Collection<Long> ownerIds);
+
+    @Modifying
+    @Query("insert into ArchivedTodo (id, ownerId, title, completedAt, archivedAt) "
+            + "select t.id, t.owner.id, t.title, t.completedAt, :archivedAt from Todo t where t.id in :ids")
+    int archive(Collection<Long> ids, Instant archivedAt);
+}
@@ -0,0 +1,35 @@
+package com.todo.todo.repository;
+
+import com.todo.todo.dto.OwnerVersion;
+import com.todo.todo.model.TodoCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface TodoCounterRepository extends JpaRepository<TodoCounter, Long> {
+
+    @Query("select c.version from TodoCounter c where c.ownerId = :ownerId")
+    Optional<Long> findVersionByOwnerId(Long ownerId);
+
+    @Query("select new com.todo.todo.dto.OwnerVersion(c.ownerId, c.version) from TodoCounter c where c.ownerId in :ownerIds")
+    List<OwnerVersion> findVersionsByOwnerIdIn(Collection<Long> ownerIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<TodoCounter> findByOwnerIdIn(Collection<Long> ownerIds);
+
+    @Modifying
+    @Query("update TodoCounter c set c.total = c.total + :total, c.completed = c.completed + :completed, "
+            + "c.version = c.version + 1 where c.ownerId = :ownerId")
+    int adjust(Long ownerId, long total, long completed);
+
+    @Modifying
+    @Query(value = "insert into todo_counter (owner_id, total, completed, version) "
+            + "values (:ownerId, :total, :completed, 1) on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(Long ownerId, long total, long completed);
+}
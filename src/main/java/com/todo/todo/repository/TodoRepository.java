@@ -1,10 +1,23 @@
 package com.todo.todo.repository;
 
+import com.todo.todo.dto.OwnerTodoCounts;
+import com.todo.todo.dto.TodoView;
 import com.todo.todo.model.Todo;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TodoRepository extends JpaRepository<Todo, Long> {
     List<Todo> findByOwnerId(Long ownerId);
@@ -15,4 +28,99 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
     void deleteByOwnerIdAndTitle(Long ownerId, String title);
     long countByOwnerId(Long ownerId);
     long countByOwnerIdAndStatus(Long ownerId, boolean status);
+    List<Todo> findByOwnerIdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long id, Limit limit);
+    List<Todo> findByOwnerIdAndStatusAndIdGreaterThanOrderByIdAsc(Long ownerId, boolean status, Long id, Limit limit);
+    List<Todo> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    List<Todo> findByOwnerIdAndIdIn(Long ownerId, Collection<Long> ids);
+
+    @Query("select t.title from Todo t where t.owner.id = :ownerId and t.title in :titles")
+    List<String> findTitlesByOwnerIdAndTitleIn(Long ownerId, Collection<String> titles);
+
+    @Query("select new com.todo.todo.dto.TodoView(t.id, t.title, t.status) "
+            + "from Todo t where t.owner.id = :ownerId order by t.id")
+    List<TodoView> findViewsByOwnerId(Long ownerId);
+
+    @Query("select new com.todo.todo.dto.TodoView(t.id, t.title, t.status) "
+            + "from Todo t where t.owner.id = :ownerId order by t.id")
+    List<TodoView> findViewsByOwnerId(Long ownerId, Limit limit);
+
+    @Query("select new com.todo.todo.dto.TodoView(t.id, t.title, t.status) from Todo t "
+            + "where t.owner.id = :ownerId "
+            + "and (lower(t.title) like :prefix escape '!' or lower(t.title) like :matching escape '!') "
+            + "order by case when lower(t.title) = :needle then 0 "
+            + "when lower(t.title) like :prefix escape '!' then 1 "
+            + "when lower(t.title) like :wordPrefix escape '!' then 2 else 3 end, length(t.title), t.id")
+    List<TodoView> searchViewsByOwnerId(Long ownerId, String needle, String prefix, String wordPrefix, String matching, Limit limit);
+
+    @Query("select new com.todo.todo.dto.TodoView(t.id, t.title, t.status) "
+            + "from Todo t where t.owner.id = :ownerId and t.status = :status order by t.id")
+    List<TodoView> findViewsByOwnerIdAndStatus(Long ownerId, boolean status);
+
+    @Query("select new com.todo.todo.dto.TodoView(t.id, t.title, t.status) "
+            + "from Todo t where t.owner.id = :ownerId and t.id = :id")
+    Optional<TodoView> findViewByOwnerIdAndId(Long ownerId, Long id);
+
+    @Query("select new com.todo.todo.dto.TodoView(t.id, t.title, t.status) "
+            + "from Todo t where t.owner.id = :ownerId and t.title = :title")
+    Optional<TodoView> findViewByOwnerIdAndTitle(Long ownerId, String title);
+
+    @Query("select new com.todo.todo.dto.TodoView(t.id, t.title, t.status) from Todo t order by t.id")
+    List<TodoView> findAllViews();
+
+    @Modifying
+    @Query("update Todo t set t.title = :title, t.status = :status, "
+            + "t.completedAt = case when t.status = :status then t.completedAt else :completedAt end "
+            + "where t.id = :id and t.owner.id = :ownerId and t.title = :expectedTitle and t.status = :expectedStatus")
+    int updateIfUnchanged(
+            Long ownerId,
+            Long id,
+            String expectedTitle,
+            boolean expectedStatus,
+            String title,
+            boolean status,
+            Instant completedAt
+    );
+
+    @Modifying
+    @Query("update Todo t set t.title = :title, t.status = :status, "
+            + "t.completedAt = case when t.status = :status then t.completedAt else :completedAt end "
+            + "where t.id = :id and t.owner.id = :ownerId and t.status = :expectedStatus")
+    int updateIfStatus(Long ownerId, Long id, boolean expectedStatus, String title, boolean status, Instant completedAt);
+
+    @Modifying
+    @Query("delete from Todo t where t.id = :id and t.owner.id = :ownerId and t.status = :expectedStatus")
+    int deleteIfStatus(Long ownerId, Long id, boolean expectedStatus);
+
+    @Modifying
+    @Query("delete from Todo t "
+            + "where t.id = :id and t.owner.id = :ownerId and t.title = :expectedTitle and t.status = :expectedStatus")
+    int deleteIfUnchanged(Long ownerId, Long id, String expectedTitle, boolean expectedStatus);
+
+    @Modifying
+    @Query("update Todo t set t.status = :status, t.completedAt = :completedAt "
+            + "where t.owner.id = :ownerId and t.id in :ids and t.status <> :status")
+    int updateStatus(Long ownerId, Collection<Long> ids, boolean status, Instant completedAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Todo t where t.status = true and t.completedAt < :cutoff order by t.id")
+    List<Todo> findArchivable(Instant cutoff, Limit limit);
+
+    @Modifying
+    @Query("update Todo t set t.completedAt = :completedAt where t.status = true and t.completedAt is null")
+    int stampMissingCompletedAt(Instant completedAt);
+
+    @Modifying
+    @Query("delete from Todo t where t.id in :ids")
+    int deleteAllByIdIn(Collection<Long> ids);
+
+    @Query("select new com.todo.todo.dto.OwnerTodoCounts(t.owner.id, count(t), "
+            + "sum(case when t.status = true then 1L else 0L end)) "
+            + "from Todo t where t.owner.id in :ownerIds group by t.owner.id")
+    List<OwnerTodoCounts> countByOwnerIdIn(Collection<Long> ownerIds);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Todo> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,70 @@
+package com.todo.todo.security;
+
+import com.todo.todo.datasource.ReplicaStickiness;
+import com.todo.todo.model.AppUser;
+import com.todo.todo.service.AccountAvailabilityService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class AppUserChangeListener {
+
+    private final ObjectProvider<SessionStore> sessionStore;
+    private final ObjectProvider<ReplicaStickiness> replicaStickiness;
+    private final ObjectProvider<AccountAvailabilityService> accountAvailability;
+
+    public AppUserChangeListener(
+            ObjectProvider<SessionStore> sessionStore,
+            ObjectProvider<ReplicaStickiness> replicaStickiness,
+            ObjectProvider<AccountAvailabilityService> accountAvailability
+    ) {
+        this.sessionStore = sessionStore;
+        this.replicaStickiness = replicaStickiness;
+        this.accountAvailability = accountAvailability;
+    }
+
+    @PostPersist
+    public void onPersist(AppUser user) {
+        Long userId = user.getId();
+        String username = user.getUsername();
+        String email = user.getEmail();
+        afterCommit(() -> {
+            accountAvailability.ifAvailable(availability -> availability.register(username, email));
+            replicaStickiness.ifAvailable(stickiness -> stickiness.pin(userId));
+        });
+    }
+
+    @PostUpdate
+    public void onUpdate(AppUser user) {
+        SessionPrincipal principal = SessionPrincipal.from(user);
+        String username = user.getUsername();
+        String email = user.getEmail();
+        afterCommit(() -> {
+            sessionStore.getObject().updatePrincipal(principal);
+            accountAvailability.ifAvailable(availability -> availability.register(username, email));
+            replicaStickiness.ifAvailable(stickiness -> stickiness.pin(principal.id()));
+        });
+    }
+
+    @PostRemove
+    public void onRemove(AppUser user) {
+        Long userId = user.getId();
+        afterCommit(() -> sessionStore.getObject().deleteForUser(userId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,91 @@
+package com.todo.todo.security;
+
+import com.todo.todo.model.AppSession;
+import com.todo.todo.repository.AppSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "todo.session.store", havingValue = "jdbc")
+public class DatabaseSessionStore implements SessionStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSessionStore.class);
+
+    private final AppSessionRepository appSessionRepository;
+    private final Duration timeout;
+    private final Duration touchInterval;
+    private final Clock clock = Clock.systemUTC();
+
+    public DatabaseSessionStore(
+            AppSessionRepository appSessionRepository,
+            @Value("${todo.session.timeout:30m}") Duration timeout,
+            @Value("${todo.session.touch-interval:1m}") Duration touchInterval
+    ) {
+        this.appSessionRepository = appSessionRepository;
+        this.timeout = timeout;
+        this.touchInterval = touchInterval;
+    }
+
+    @Override
+    @Transactional
+    public String create(SessionPrincipal principal) {
+        String token = SessionTokens.newToken();
+        appSessionRepository.save(new AppSession(
+                SessionTokens.hash(token), principal.id(), principal.encode(), clock.instant().plus(timeout)));
+        return token;
+    }
+
+    @Override
+    @Transactional
+    public Optional<SessionPrincipal> find(String token) {
+        String id = SessionTokens.hash(token);
+        Instant now = clock.instant();
+        return appSessionRepository.findById(id)
+                .filter(session -> session.getExpiresAt().isAfter(now))
+                .map(session -> {
+                    Instant expiresAt = now.plus(timeout);
+                    if (Duration.between(session.getExpiresAt(), expiresAt).compareTo(touchInterval) >= 0) {
+                        appSessionRepository.touch(id, expiresAt);
+                    }
+                    return SessionPrincipal.decode(session.getPrincipal());
+                });
+    }
+
+    @Override
+    @Transactional
+    public void delete(String token) {
+        appSessionRepository.deleteById(SessionTokens.hash(token));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void updatePrincipal(SessionPrincipal principal) {
+        appSessionRepository.updatePrincipalByUserId(principal.id(), principal.encode());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void deleteForUser(Long userId) {
+        appSessionRepository.deleteByUserId(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${todo.session.cleanup-interval-ms:300000}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = appSessionRepository.deleteExpired(clock.instant());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired sessions", deleted);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.todo.todo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "todo.session.store", havingValue = "memory", matchIfMissing = true)
+public class InMemorySessionStore implements SessionStore {
+
+    private final Cache<String, byte[]> sessions;
+
+    public InMemorySessionStore(
+            @Value("${todo.session.timeout:30m}") Duration timeout,
+            @Value("${todo.session.max-sessions:100000}") long maxSessions,
+            MeterRegistry meterRegistry
+    ) {
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfterAccess(timeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, "sessions");
+    }
+
+    @Override
+    public String create(SessionPrincipal principal) {
+        String token = SessionTokens.newToken();
+        sessions.put(token, principal.encode());
+        return token;
+    }
+
+    @Override
+    public Optional<SessionPrincipal> find(String token) {
+        return Optional.ofNullable(sessions.getIfPresent(token)).map(SessionPrincipal::decode);
+    }
+
+    @Override
+    public void delete(String token) {
+        sessions.invalidate(token);
+    }
+
+    @Override
+    public void updatePrincipal(SessionPrincipal principal) {
+        byte[] encoded = principal.encode();
+        sessions.asMap().replaceAll((token, bytes) ->
+                SessionPrincipal.decode(bytes).id().equals(principal.id()) ? encoded : bytes);
+    }
+
+    @Override
+    public void deleteForUser(Long userId) {
+        sessions.asMap().values().removeIf(bytes -> SessionPrincipal.decode(bytes).id().equals(userId));
+    }
+
+    public long size() {
+        return sessions.estimatedSize();
+    }
+}
@@ -0,0 +1,93 @@
+package com.todo.todo.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todo.todo.model.Role;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RateLimiter {
+
+    private final Cache<Object, AtomicLong> buckets;
+    private final Map<Role, Limit> roleLimits;
+    private final Limit anonymousLimit;
+    private final Counter userRejections;
+    private final Counter anonymousRejections;
+
+    public RateLimiter(
+            Map<Role, Limit> roleLimits,
+            Limit anonymousLimit,
+            Duration idleTimeout,
+            long maxClients,
+            MeterRegistry meterRegistry
+    ) {
+        this.roleLimits = new EnumMap<>(roleLimits);
+        this.anonymousLimit = anonymousLimit;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit-buckets");
+        this.userRejections = Counter.builder("todo.rate-limit.rejected")
+                .tag("client", "user")
+                .register(meterRegistry);
+        this.anonymousRejections = Counter.builder("todo.rate-limit.rejected")
+                .tag("client", "anonymous")
+                .register(meterRegistry);
+    }
+
+    public long acquireForUser(Long userId, Role role) {
+        long waitNanos = acquire(userId, roleLimits.getOrDefault(role, anonymousLimit));
+        if (waitNanos > 0) {
+            userRejections.increment();
+        }
+        return waitNanos;
+    }
+
+    public long acquireForAddress(String address) {
+        long waitNanos = acquire(address, anonymousLimit);
+        if (waitNanos > 0) {
+            anonymousRejections.increment();
+        }
+        return waitNanos;
+    }
+
+    private long acquire(Object key, Limit limit) {
+        long now = System.nanoTime();
+        AtomicLong theoreticalArrival = buckets.get(key, ignored -> new AtomicLong(now));
+        while (true) {
+            long current = theoreticalArrival.get();
+            long start = current - now < 0 ? now : current;
+            long waitNanos = start - now - limit.toleranceNanos();
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, start + limit.intervalNanos())) {
+                return 0;
+            }
+        }
+    }
+
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    public record Limit(long intervalNanos, long toleranceNanos) {
+
+        public static Limit of(double requestsPerSecond, int burst) {
+            if (requestsPerSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("Rate limits need a positive rate and a burst of at least 1");
+            }
+            long interval = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / requestsPerSecond));
+            return new Limit(interval, interval * (burst - 1));
+        }
+    }
+}
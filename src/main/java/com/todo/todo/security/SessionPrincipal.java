@@ -0,0 +1,69 @@
+package com.todo.todo.security;
+
+import com.todo.todo.model.AppUser;
+import com.todo.todo.model.Role;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+public record SessionPrincipal(Long id, String username, Role role) implements AuthenticatedPrincipal {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    public static SessionPrincipal from(AppUser user) {
+        return new SessionPrincipal(user.getId(), user.getUsername(), user.getRole());
+    }
+
+    public static SessionPrincipal decode(byte[] bytes) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = input.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported session principal format " + version);
+            }
+            long id = input.readLong();
+            Role role = Role.valueOf(input.readUTF());
+            String username = input.readUTF();
+            return new SessionPrincipal(id, username, role);
+        } catch (IOException exception) {
+            throw new IllegalArgumentException("Malformed session principal", exception);
+        }
+    }
+
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + username.length());
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(FORMAT_VERSION);
+            output.writeLong(id);
+            output.writeUTF(role.name());
+            output.writeUTF(username);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+        return bytes.toByteArray();
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public AppUser toUser() {
+        AppUser user = new AppUser();
+        user.setId(id);
+        user.setUsername(username);
+        user.setRole(role);
+        return user;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,107 @@
+package com.todo.todo.security;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public class SessionSecurityContextRepository implements SecurityContextRepository {
+
+    private final SessionStore sessionStore;
+    private final String cookieName;
+    private final boolean secureCookie;
+
+    public SessionSecurityContextRepository(SessionStore sessionStore, String cookieName, boolean secureCookie) {
+        this.sessionStore = sessionStore;
+        this.cookieName = cookieName;
+        this.secureCookie = secureCookie;
+    }
+
+    @Override
+    public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+        return new DeferredSecurityContext() {
+            private SecurityContext context;
+
+            @Override
+            public SecurityContext get() {
+                if (context == null) {
+                    context = load(request);
+                }
+                return context;
+            }
+
+            @Override
+            public boolean isGenerated() {
+                return get().getAuthentication() == null;
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        return load(requestResponseHolder.getRequest());
+    }
+
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        return readToken(request).flatMap(sessionStore::find).isPresent();
+    }
+
+    public void startSession(SessionPrincipal principal, HttpServletRequest request, HttpServletResponse response) {
+        readToken(request).ifPresent(sessionStore::delete);
+        String token = sessionStore.create(principal);
+        writeCookie(response, token, null);
+    }
+
+    public void endSession(HttpServletRequest request, HttpServletResponse response) {
+        readToken(request).ifPresent(sessionStore::delete);
+        writeCookie(response, "", Duration.ZERO);
+    }
+
+    private SecurityContext load(HttpServletRequest request) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        readToken(request).flatMap(sessionStore::find).ifPresent(principal -> context.setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.authorities())));
+        return context;
+    }
+
+    private Optional<String> readToken(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return Optional.empty();
+        }
+        for (Cookie cookie : cookies) {
+            if (cookieName.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                return Optional.of(cookie.getValue());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void writeCookie(HttpServletResponse response, String value, Duration maxAge) {
+        ResponseCookie.ResponseCookieBuilder cookie = ResponseCookie.from(cookieName, value)
+                .path("/")
+                .httpOnly(true)
+                .secure(secureCookie)
+                .sameSite("Lax");
+        if (maxAge != null) {
+            cookie.maxAge(maxAge);
+        }
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.build().toString());
+    }
+}
@@ -0,0 +1,16 @@
+package com.todo.todo.security;
+
+import java.util.Optional;
+
+public interface SessionStore {
+
+    String create(SessionPrincipal principal);
+
+    Optional<SessionPrincipal> find(String token);
+
+    void delete(String token);
+
+    void updatePrincipal(SessionPrincipal principal);
+
+    void deleteForUser(Long userId);
+}
@@ -0,0 +1,249 @@
+package com.todo.todo.service;
+
+import com.todo.todo.dto.AppUserNames;
+import com.todo.todo.dto.AvailabilityFilterReport;
+import com.todo.todo.dto.AvailabilityReport;
+import com.todo.todo.repository.AppUserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+@Service
+public class AccountAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountAvailabilityService.class);
+
+    private final AppUserRepository appUserRepository;
+    private final double falsePositiveRate;
+    private final long minCapacity;
+    private final int batchSize;
+    private final long pollOverlap;
+    private final Checks usernameChecks;
+    private final Checks emailChecks;
+    private volatile Filters current;
+    private volatile Filters building;
+    private volatile long lastSeenId;
+
+    public AccountAvailabilityService(
+            AppUserRepository appUserRepository,
+            MeterRegistry meterRegistry,
+            @Value("${todo.availability.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${todo.availability.min-capacity:100000}") long minCapacity,
+            @Value("${todo.availability.batch-size:5000}") int batchSize,
+            @Value("${todo.availability.poll-overlap:1000}") long pollOverlap
+    ) {
+        this.appUserRepository = appUserRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+        this.batchSize = batchSize;
+        this.pollOverlap = pollOverlap;
+        this.usernameChecks = new Checks(meterRegistry, "username");
+        this.emailChecks = new Checks(meterRegistry, "email");
+        registerGauges(meterRegistry, "username", filters -> filters.usernames);
+        registerGauges(meterRegistry, "email", filters -> filters.emails);
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        Filters filters = current;
+        if (filters == null) {
+            usernameChecks.unfiltered.increment();
+            return !appUserRepository.existsByUsername(username);
+        }
+        return filters.usernames.isAvailable(username, appUserRepository::existsByUsername);
+    }
+
+    public boolean isEmailAvailable(String email) {
+        Filters filters = current;
+        if (filters == null) {
+            emailChecks.unfiltered.increment();
+            return !appUserRepository.existsByEmail(email);
+        }
+        return filters.emails.isAvailable(email, appUserRepository::existsByEmail);
+    }
+
+    public void register(String username, String email) {
+        Filters pending = building;
+        if (pending != null) {
+            pending.mark(username, email);
+        }
+        Filters filters = current;
+        if (filters != null) {
+            filters.mark(username, email);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${todo.availability.initial-delay-ms:0}",
+            fixedDelayString = "${todo.availability.rebuild-interval-ms:3600000}"
+    )
+    public synchronized void rebuild() {
+        long startedAt = System.nanoTime();
+        Filters previous = current;
+        long expected = Math.max(minCapacity, 2 * appUserRepository.count());
+        Filters filters = new Filters(
+                new Field(BloomFilter.create(expected, falsePositiveRate), usernameChecks),
+                new Field(BloomFilter.create(expected, falsePositiveRate), emailChecks),
+                expected);
+        building = filters;
+        try {
+            lastSeenId = addUsersAfter(filters, 0, 0);
+            current = filters;
+        } finally {
+            building = null;
+        }
+
+        if (previous != null) {
+            log.info("Availability filters before rebuild: username false-positive rate {} observed, {} expected; "
+                            + "email {} observed, {} expected",
+                    previous.usernames.observedFalsePositiveRate(), previous.usernames.filter.expectedFalsePositiveRate(),
+                    previous.emails.observedFalsePositiveRate(), previous.emails.filter.expectedFalsePositiveRate());
+        }
+        log.info("Built availability filters for {} users in {} ms ({} bits, {} hash functions each, capacity {})",
+                filters.users.sum(), (System.nanoTime() - startedAt) / 1_000_000,
+                filters.usernames.filter.bits(), filters.usernames.filter.hashFunctions(), expected);
+    }
+
+    @Scheduled(
+            initialDelayString = "${todo.availability.poll-interval-ms:2000}",
+            fixedDelayString = "${todo.availability.poll-interval-ms:2000}"
+    )
+    public synchronized void addNewUsers() {
+        Filters filters = current;
+        if (filters != null) {
+            lastSeenId = addUsersAfter(filters, Math.max(0, lastSeenId - pollOverlap), lastSeenId);
+        }
+    }
+
+    private long addUsersAfter(Filters filters, long after, long seenUpTo) {
+        long lastId = seenUpTo;
+        List<AppUserNames> page;
+        do {
+            page = appUserRepository.findNamesAfter(after, Limit.of(batchSize));
+            for (AppUserNames names : page) {
+                if (names.id() > seenUpTo) {
+                    filters.add(names.username(), names.email());
+                } else {
+                    filters.mark(names.username(), names.email());
+                }
+                after = names.id();
+                lastId = Math.max(lastId, after);
+            }
+        } while (page.size() == batchSize);
+        return lastId;
+    }
+
+    public AvailabilityReport report() {
+        Filters filters = current;
+        if (filters == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Availability filters are still being built");
+        }
+        return new AvailabilityReport(filters.builtAt, filters.users.sum(), filters.capacity,
+                filters.usernames.report(), filters.emails.report());
+    }
+
+    private void registerGauges(MeterRegistry meterRegistry, String field, Function<Filters, Field> selector) {
+        Gauge.builder("todo.availability.false-positive-rate.expected", this,
+                        service -> service.current == null ? Double.NaN
+                                : selector.apply(service.current).filter.expectedFalsePositiveRate())
+                .tag("field", field)
+                .register(meterRegistry);
+        Gauge.builder("todo.availability.false-positive-rate.observed", this,
+                        service -> service.current == null ? Double.NaN
+                                : selector.apply(service.current).observedFalsePositiveRate())
+                .tag("field", field)
+                .register(meterRegistry);
+    }
+
+    private static final class Checks {
+        private final Counter unfiltered;
+        private final Counter skipped;
+        private final Counter taken;
+        private final Counter falsePositive;
+
+        private Checks(MeterRegistry meterRegistry, String field) {
+            this.unfiltered = meterRegistry.counter("todo.availability.checks", "field", field, "result", "unfiltered");
+            this.skipped = meterRegistry.counter("todo.availability.checks", "field", field, "result", "skipped");
+            this.taken = meterRegistry.counter("todo.availability.checks", "field", field, "result", "taken");
+            this.falsePositive = meterRegistry.counter("todo.availability.checks", "field", field, "result", "false-positive");
+        }
+    }
+
+    private static final class Filters {
+        private final Field usernames;
+        private final Field emails;
+        private final long capacity;
+        private final Instant builtAt = Instant.now();
+        private final LongAdder users = new LongAdder();
+
+        private Filters(Field usernames, Field emails, long capacity) {
+            this.usernames = usernames;
+            this.emails = emails;
+            this.capacity = capacity;
+        }
+
+        private void add(String username, String email) {
+            mark(username, email);
+            users.increment();
+        }
+
+        private void mark(String username, String email) {
+            usernames.filter.add(username);
+            emails.filter.add(email);
+        }
+    }
+
+    private static final class Field {
+        private final BloomFilter filter;
+        private final Checks checks;
+        private final LongAdder definiteMisses = new LongAdder();
+        private final LongAdder confirmedTaken = new LongAdder();
+        private final LongAdder falsePositives = new LongAdder();
+
+        private Field(BloomFilter filter, Checks checks) {
+            this.filter = filter;
+            this.checks = checks;
+        }
+
+        private boolean isAvailable(String value, Predicate<String> exists) {
+            if (!filter.mightContain(value)) {
+                definiteMisses.increment();
+                checks.skipped.increment();
+                return true;
+            }
+            if (exists.test(value)) {
+                confirmedTaken.increment();
+                checks.taken.increment();
+                return false;
+            }
+            falsePositives.increment();
+            checks.falsePositive.increment();
+            return true;
+        }
+
+        private double observedFalsePositiveRate() {
+            long falsePositiveCount = falsePositives.sum();
+            long negatives = falsePositiveCount + definiteMisses.sum();
+            return negatives == 0 ? 0 : (double) falsePositiveCount / negatives;
+        }
+
+        private AvailabilityFilterReport report() {
+            return new AvailabilityFilterReport(filter.bits(), filter.hashFunctions(), filter.fillRatio(),
+                    filter.expectedFalsePositiveRate(), definiteMisses.sum(), confirmedTaken.sum(),
+                    falsePositives.sum(), observedFalsePositiveRate());
+        }
+    }
+}
@@ -2,11 +2,14 @@ package com.todo.todo.service;
 
 import com.todo.todo.model.AppUser;
 import com.todo.todo.repository.AppUserRepository;
+import com.todo.todo.security.AppUserDetails;
+import com.todo.todo.security.SessionPrincipal;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
@@ -24,7 +27,19 @@ public class CurrentUserService {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated");
         }
 
+        if (authentication.getPrincipal() instanceof SessionPrincipal principal) {
+            return principal.toUser();
+        }
+        if (authentication.getPrincipal() instanceof AppUserDetails details) {
+            return details.getUser();
+        }
         return appUserRepository.findByUsername(authentication.getName())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
     }
+
+    @Transactional(readOnly = true)
+    public AppUser loadCurrentUser() {
+        return appUserRepository.findById(getCurrentUser().getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
+    }
 }
@@ -0,0 +1,255 @@
+package com.todo.todo.service;
+
+import com.todo.todo.repository.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class StatusWriteBehind implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusWriteBehind.class);
+    private static final Duration SHUTDOWN_RETRY_PAUSE = Duration.ofMillis(100);
+
+    private final ConcurrentMap<Long, OwnerBuffer> buffers = new ConcurrentHashMap<>();
+    private final TodoRepository todoRepository;
+    private final TodoCounterService todoCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration shutdownTimeout;
+    private final Counter deferred;
+    private final Counter written;
+    private volatile boolean running;
+
+    public StatusWriteBehind(
+            TodoRepository todoRepository,
+            TodoCounterService todoCounterService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${todo.write-behind.enabled:false}") boolean enabled,
+            @Value("${todo.write-behind.shutdown-timeout:10s}") Duration shutdownTimeout
+    ) {
+        this.todoRepository = todoRepository;
+        this.todoCounterService = todoCounterService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.shutdownTimeout = shutdownTimeout;
+        this.deferred = Counter.builder("todo.write-behind.deferred")
+                .description("Status changes accepted into the write-behind buffer")
+                .register(meterRegistry);
+        this.written = Counter.builder("todo.write-behind.written")
+                .description("Rows whose status changed when the buffer was flushed")
+                .register(meterRegistry);
+        meterRegistry.gauge("todo.write-behind.pending", buffers, StatusWriteBehind::countPending);
+    }
+
+    public boolean isEnabled() {
+        return enabled && running;
+    }
+
+    public Optional<Pending> pending(Long ownerId, Long todoId) {
+        OwnerBuffer buffer = buffers.get(ownerId);
+        return buffer == null ? Optional.empty() : Optional.ofNullable(buffer.get(todoId));
+    }
+
+    public boolean defer(Long ownerId, Long todoId, String title, boolean status) {
+        if (!isEnabled()) {
+            return false;
+        }
+        buffers.compute(ownerId, (id, buffer) -> {
+            OwnerBuffer target = buffer == null ? new OwnerBuffer() : buffer;
+            target.put(todoId, new Pending(title, status));
+            return target;
+        });
+        deferred.increment();
+        return true;
+    }
+
+    public void flush(Long ownerId) {
+        flush(ownerId, true);
+    }
+
+    private void flush(Long ownerId, boolean wait) {
+        OwnerBuffer buffer = buffers.get(ownerId);
+        if (buffer == null) {
+            return;
+        }
+        if (wait) {
+            buffer.flushLock.lock();
+        } else if (!buffer.flushLock.tryLock()) {
+            return;
+        }
+        boolean joined = false;
+        try {
+            Map<Long, Pending> batch = buffer.take();
+            if (!batch.isEmpty()) {
+                try {
+                    joined = TransactionSynchronizationManager.isActualTransactionActive()
+                            && TransactionSynchronizationManager.isSynchronizationActive();
+                    if (joined) {
+                        writeInCurrentTransaction(ownerId, buffer, batch);
+                    } else {
+                        transactionTemplate.executeWithoutResult(status -> write(ownerId, batch));
+                    }
+                } catch (RuntimeException exception) {
+                    joined = false;
+                    buffer.restore(batch);
+                    throw exception;
+                }
+            }
+        } finally {
+            if (!joined) {
+                release(ownerId, buffer);
+            }
+        }
+    }
+
+    private void writeInCurrentTransaction(Long ownerId, OwnerBuffer buffer, Map<Long, Pending> batch) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            throw new IllegalStateException("Pending status changes must be flushed before a read-only transaction starts");
+        }
+        write(ownerId, batch);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    buffer.restore(batch);
+                }
+                release(ownerId, buffer);
+            }
+        });
+    }
+
+    private void release(Long ownerId, OwnerBuffer buffer) {
+        buffer.flushLock.unlock();
+        buffers.computeIfPresent(ownerId, (id, current) ->
+                current == buffer && current.isEmpty() && !current.flushLock.isLocked() ? null : current);
+    }
+
+    @Scheduled(fixedDelayString = "${todo.write-behind.window-ms:200}")
+    public void flushAll() {
+        for (Long ownerId : buffers.keySet()) {
+            try {
+                flush(ownerId, false);
+            } catch (RuntimeException exception) {
+                log.warn("Failed to flush pending status changes for owner {}", ownerId, exception);
+            }
+        }
+    }
+
+    private void write(Long ownerId, Map<Long, Pending> batch) {
+        List<Long> completedIds = new ArrayList<>();
+        List<Long> reopenedIds = new ArrayList<>();
+        batch.forEach((todoId, pending) -> (pending.status() ? completedIds : reopenedIds).add(todoId));
+
+        int completed = completedIds.isEmpty() ? 0 : todoRepository.updateStatus(ownerId, completedIds, true, Instant.now());
+        int reopened = reopenedIds.isEmpty() ? 0 : todoRepository.updateStatus(ownerId, reopenedIds, false, null);
+        if (completed + reopened == 0) {
+            return;
+        }
+        todoCounterService.adjust(ownerId, 0, completed - reopened);
+        batch.forEach((todoId, pending) -> {
+            if ((pending.status() ? completed : reopened) > 0) {
+                eventPublisher.publishEvent(new TodoChangeEvent(
+                        ownerId, TodoChangeEvent.Type.UPDATED, todoId, pending.title(), pending.status()));
+            }
+        });
+        written.increment(completed + reopened);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Instant deadline = Instant.now().plus(shutdownTimeout);
+        flushAll();
+        while (!buffers.isEmpty() && Instant.now().isBefore(deadline)) {
+            try {
+                Thread.sleep(SHUTDOWN_RETRY_PAUSE.toMillis());
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            flushAll();
+        }
+        if (!buffers.isEmpty()) {
+            log.error("Shut down with status changes still pending for {} users after {}", buffers.size(), shutdownTimeout);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private static double countPending(Map<Long, OwnerBuffer> buffers) {
+        return buffers.values().stream().mapToInt(OwnerBuffer::size).sum();
+    }
+
+    public record Pending(String title, boolean status) {
+    }
+
+    private static final class OwnerBuffer {
+        private final ReentrantLock flushLock = new ReentrantLock();
+        private Map<Long, Pending> pending = new HashMap<>();
+
+        private synchronized void put(Long todoId, Pending change) {
+            pending.put(todoId, change);
+        }
+
+        private synchronized Pending get(Long todoId) {
+            return pending.get(todoId);
+        }
+
+        private synchronized Map<Long, Pending> take() {
+            Map<Long, Pending> batch = pending;
+            pending = new HashMap<>();
+            return batch;
+        }
+
+        private synchronized void restore(Map<Long, Pending> batch) {
+            batch.forEach(pending::putIfAbsent);
+        }
+
+        private synchronized boolean isEmpty() {
+            return pending.isEmpty();
+        }
+
+        private synchronized int size() {
+            return pending.size();
+        }
+    }
+}
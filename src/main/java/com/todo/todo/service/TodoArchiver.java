@@ -0,0 +1,98 @@
+package com.todo.todo.service;
+
+import com.todo.todo.model.Todo;
+import com.todo.todo.repository.ArchivedTodoRepository;
+import com.todo.todo.repository.TodoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@ConditionalOnProperty(name = "todo.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TodoArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoArchiver.class);
+
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final TodoCounterService todoCounterService;
+    private final StatusWriteBehind statusWriteBehind;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration completedFor;
+    private final int batchSize;
+
+    public TodoArchiver(
+            TodoRepository todoRepository,
+            ArchivedTodoRepository archivedTodoRepository,
+            TodoCounterService todoCounterService,
+            StatusWriteBehind statusWriteBehind,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${todo.archive.completed-for:30d}") Duration completedFor,
+            @Value("${todo.archive.batch-size:1000}") int batchSize
+    ) {
+        this.todoRepository = todoRepository;
+        this.archivedTodoRepository = archivedTodoRepository;
+        this.todoCounterService = todoCounterService;
+        this.statusWriteBehind = statusWriteBehind;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.completedFor = completedFor;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(
+            initialDelayString = "${todo.archive.initial-delay-ms:60000}",
+            fixedDelayString = "${todo.archive.interval-ms:3600000}"
+    )
+    public void archiveCompleted() {
+        statusWriteBehind.flushAll();
+        Instant now = Instant.now();
+        Integer stamped = transactionTemplate.execute(status -> todoRepository.stampMissingCompletedAt(now));
+        Instant cutoff = now.minus(completedFor);
+        long archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived += moved;
+        } while (moved == batchSize);
+        if (archived > 0 || stamped != null && stamped > 0) {
+            log.info("Archived {} completed tasks older than {} ({} completion times backfilled)", archived, completedFor, stamped);
+        }
+    }
+
+    private int archiveBatch(Instant cutoff) {
+        List<Todo> todos = todoRepository.findArchivable(cutoff, Limit.of(batchSize));
+        if (todos.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(todos.size());
+        Set<Long> ownerIds = new HashSet<>();
+        for (Todo todo : todos) {
+            ids.add(todo.getId());
+            ownerIds.add(todo.getOwner().getId());
+        }
+        archivedTodoRepository.archive(ids, Instant.now());
+        todoRepository.deleteAllByIdIn(ids);
+        for (Long ownerId : ownerIds) {
+            todoCounterService.adjust(ownerId, 0, 0);
+            eventPublisher.publishEvent(TodoChangeEvent.reset(ownerId));
+        }
+        return todos.size();
+    }
+}
@@ -0,0 +1,292 @@
+package com.todo.todo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.todo.todo.dto.OwnerVersion;
+import com.todo.todo.dto.TodoView;
+import com.todo.todo.model.Todo;
+import com.todo.todo.repository.TodoCounterRepository;
+import com.todo.todo.repository.TodoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+public class TodoCache {
+
+    private static final Object COMMITTED_VERSIONS = new Object();
+    private static final int POLL_BATCH_SIZE = 1000;
+
+    private final TodoRepository todoRepository;
+    private final TodoCounterRepository todoCounterRepository;
+    private final TodoCounterService todoCounterService;
+    private final int maxTodos;
+    private final Cache<Long, OwnerTodos> cache;
+    private final Cache<Long, Boolean> oversized;
+
+    public TodoCache(
+            TodoRepository todoRepository,
+            TodoCounterRepository todoCounterRepository,
+            TodoCounterService todoCounterService,
+            MeterRegistry meterRegistry,
+            @Value("${todo.cache.max-todos:100000}") int maxTodos,
+            @Value("${todo.cache.idle-timeout:10m}") Duration idleTimeout
+    ) {
+        this.todoRepository = todoRepository;
+        this.todoCounterRepository = todoCounterRepository;
+        this.todoCounterService = todoCounterService;
+        this.maxTodos = maxTodos;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxTodos)
+                .weigher((Long ownerId, OwnerTodos todos) -> todos.size() + 1)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        this.oversized = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(idleTimeout)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "todos-by-owner");
+    }
+
+    public Optional<Todo> findById(Long ownerId, Long id) {
+        OwnerTodos todos = snapshot(ownerId);
+        if (todos == null) {
+            return todoRepository.findViewByOwnerIdAndId(ownerId, id).map(TodoCache::toTodo);
+        }
+        return todos.findById(id);
+    }
+
+    public Optional<Todo> findByTitle(Long ownerId, String title) {
+        OwnerTodos todos = snapshot(ownerId);
+        if (todos == null) {
+            return todoRepository.findViewByOwnerIdAndTitle(ownerId, title).map(TodoCache::toTodo);
+        }
+        return todos.findByTitle(title);
+    }
+
+    public Optional<Todo> peekById(Long ownerId, Long id) {
+        OwnerTodos todos = cache.getIfPresent(ownerId);
+        return todos == null ? Optional.empty() : todos.findById(id);
+    }
+
+    public Optional<Todo> peekByTitle(Long ownerId, String title) {
+        OwnerTodos todos = cache.getIfPresent(ownerId);
+        return todos == null ? Optional.empty() : todos.findByTitle(title);
+    }
+
+    public Optional<Set<String>> findCachedTitles(Long ownerId, Collection<String> titles) {
+        OwnerTodos todos = cache.getIfPresent(ownerId);
+        return todos == null ? Optional.empty() : Optional.of(todos.takenTitles(titles));
+    }
+
+    public List<Todo> search(Long ownerId, String query, int limit) {
+        OwnerTodos todos = snapshot(ownerId);
+        if (todos != null) {
+            return todos.searchIndex().search(query, limit);
+        }
+        String folded = TodoSearchIndex.fold(query);
+        String needle = escapeLike(folded);
+        String wordPrefix = "% " + needle + "%";
+        String matching = folded.length() < TodoSearchIndex.GRAM ? wordPrefix : "%" + needle + "%";
+        return todoRepository.searchViewsByOwnerId(ownerId, folded, needle + "%", wordPrefix, matching, Limit.of(limit))
+                .stream()
+                .map(TodoCache::toTodo)
+                .toList();
+    }
+
+    public void invalidate(Long ownerId) {
+        cache.invalidate(ownerId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeTodoChangeCommits(TodoChangeEvent event) {
+        if (event.type() == TodoChangeEvent.Type.RESET || cache.getIfPresent(event.ownerId()) == null) {
+            return;
+        }
+        Map<Long, long[]> versions = committedVersions(true);
+        if (!versions.containsKey(event.ownerId())) {
+            long committed = todoCounterRepository.findVersionByOwnerId(event.ownerId()).orElse(0L);
+            long bumps = todoCounterService.versionBumpsInCurrentTransaction(event.ownerId());
+            versions.put(event.ownerId(), new long[]{committed - bumps, committed});
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTodoChange(TodoChangeEvent event) {
+        OwnerTodos todos = cache.getIfPresent(event.ownerId());
+        if (todos == null) {
+            return;
+        }
+        long[] versions = committedVersions(false).get(event.ownerId());
+        if (event.type() == TodoChangeEvent.Type.RESET || versions == null || !todos.apply(event, versions[0], versions[1])) {
+            cache.asMap().remove(event.ownerId(), todos);
+        } else if (event.type() != TodoChangeEvent.Type.UPDATED) {
+            cache.asMap().replace(event.ownerId(), todos, todos);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${todo.cache.poll-interval-ms:1000}", fixedDelayString = "${todo.cache.poll-interval-ms:1000}")
+    public void dropStaleSnapshots() {
+        List<Long> ownerIds = new ArrayList<>(cache.asMap().keySet());
+        for (int from = 0; from < ownerIds.size(); from += POLL_BATCH_SIZE) {
+            List<Long> batch = ownerIds.subList(from, Math.min(from + POLL_BATCH_SIZE, ownerIds.size()));
+            Map<Long, Long> versions = new HashMap<>();
+            for (OwnerVersion ownerVersion : todoCounterRepository.findVersionsByOwnerIdIn(batch)) {
+                versions.put(ownerVersion.ownerId(), ownerVersion.version());
+            }
+            for (Long ownerId : batch) {
+                OwnerTodos todos = cache.getIfPresent(ownerId);
+                if (todos != null && !todos.isAt(versions.getOrDefault(ownerId, 0L))) {
+                    cache.asMap().remove(ownerId, todos);
+                }
+            }
+        }
+    }
+
+    private OwnerTodos snapshot(Long ownerId) {
+        if (oversized.getIfPresent(ownerId) != null) {
+            return null;
+        }
+        OwnerTodos todos = cache.get(ownerId, this::load);
+        if (todos == null) {
+            oversized.put(ownerId, Boolean.TRUE);
+        }
+        return todos;
+    }
+
+    private OwnerTodos load(Long ownerId) {
+        long version = todoCounterRepository.findVersionByOwnerId(ownerId).orElse(0L);
+        List<TodoView> todos = todoRepository.findViewsByOwnerId(ownerId, Limit.of(maxTodos));
+        if (todos.size() >= maxTodos) {
+            return null;
+        }
+        Map<Long, CachedTodo> byId = new HashMap<>(todos.size() * 2);
+        Map<String, Long> idByTitle = new HashMap<>(todos.size() * 2);
+        for (TodoView todo : todos) {
+            byId.put(todo.id(), new CachedTodo(todo.id(), todo.title(), todo.status()));
+            idByTitle.put(todo.title(), todo.id());
+        }
+        return new OwnerTodos(version, byId, idByTitle);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, long[]> committedVersions(boolean create) {
+        Map<Long, long[]> versions = (Map<Long, long[]>) TransactionSynchronizationManager.getResource(COMMITTED_VERSIONS);
+        if (versions == null && create) {
+            versions = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(COMMITTED_VERSIONS, versions);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(COMMITTED_VERSIONS);
+                }
+            });
+        }
+        return versions == null ? Map.of() : versions;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static Todo toTodo(TodoView view) {
+        return new Todo(view.id(), view.title(), view.status(), null, null);
+    }
+
+    record CachedTodo(Long id, String title, boolean status) {
+        Todo toTodo() {
+            return new Todo(id, title, status, null, null);
+        }
+    }
+
+    private static final class OwnerTodos {
+        private long version;
+        private final Map<Long, CachedTodo> byId;
+        private final Map<String, Long> idByTitle;
+        private TodoSearchIndex searchIndex;
+
+        private OwnerTodos(long version, Map<Long, CachedTodo> byId, Map<String, Long> idByTitle) {
+            this.version = version;
+            this.byId = byId;
+            this.idByTitle = idByTitle;
+        }
+
+        private synchronized int size() {
+            return byId.size();
+        }
+
+        private synchronized boolean isAt(long committedVersion) {
+            return version == committedVersion;
+        }
+
+        private synchronized Optional<Todo> findById(Long id) {
+            return Optional.ofNullable(byId.get(id)).map(CachedTodo::toTodo);
+        }
+
+        private synchronized Optional<Todo> findByTitle(String title) {
+            return Optional.ofNullable(idByTitle.get(title)).map(byId::get).map(CachedTodo::toTodo);
+        }
+
+        private synchronized Set<String> takenTitles(Collection<String> titles) {
+            Set<String> taken = new HashSet<>();
+            for (String title : titles) {
+                if (idByTitle.containsKey(title)) {
+                    taken.add(title);
+                }
+            }
+            return taken;
+        }
+
+        private synchronized boolean apply(TodoChangeEvent event, long fromVersion, long toVersion) {
+            if (version != fromVersion && version != toVersion
+                    || event.type() == TodoChangeEvent.Type.UPDATED && !byId.containsKey(event.todoId())) {
+                return false;
+            }
+            version = toVersion;
+            CachedTodo previous = byId.remove(event.todoId());
+            if (previous != null) {
+                idByTitle.remove(previous.title(), previous.id());
+            }
+            CachedTodo current = null;
+            if (event.type() != TodoChangeEvent.Type.DELETED) {
+                current = new CachedTodo(event.todoId(), event.title(), event.status());
+                byId.put(event.todoId(), current);
+                idByTitle.put(event.title(), event.todoId());
+            }
+            if (searchIndex != null) {
+                searchIndex = searchIndex.withChange(event.todoId(), current);
+            }
+            return true;
+        }
+
+        private synchronized TodoSearchIndex searchIndex() {
+            if (searchIndex == null) {
+                searchIndex = new TodoSearchIndex(byId.values());
+            }
+            return searchIndex;
+        }
+    }
+}
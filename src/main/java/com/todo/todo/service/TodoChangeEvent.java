@@ -0,0 +1,26 @@
+package com.todo.todo.service;
+
+import com.todo.todo.dto.TodoChange;
+import com.todo.todo.model.Todo;
+
+public record TodoChangeEvent(Long ownerId, Type type, Long todoId, String title, boolean status) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        RESET
+    }
+
+    public static TodoChangeEvent of(Long ownerId, Type type, Todo todo) {
+        return new TodoChangeEvent(ownerId, type, todo.getId(), todo.getTitle(), todo.isStatus());
+    }
+
+    public static TodoChangeEvent reset(Long ownerId) {
+        return new TodoChangeEvent(ownerId, Type.RESET, null, null, false);
+    }
+
+    public TodoChange toChange() {
+        return new TodoChange(type.name(), todoId, title, status);
+    }
+}
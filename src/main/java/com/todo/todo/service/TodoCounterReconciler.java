@@ -0,0 +1,48 @@
+package com.todo.todo.service;
+
+import com.todo.todo.repository.AppUserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+public class TodoCounterReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoCounterReconciler.class);
+
+    private final AppUserRepository appUserRepository;
+    private final TodoCounterService todoCounterService;
+    private final int batchSize;
+
+    public TodoCounterReconciler(
+            AppUserRepository appUserRepository,
+            TodoCounterService todoCounterService,
+            @Value("${todo.counters.reconcile-batch-size:500}") int batchSize
+    ) {
+        this.appUserRepository = appUserRepository;
+        this.todoCounterService = todoCounterService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${todo.counters.reconcile-cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        long after = 0L;
+        long owners = 0;
+        List<Long> ownerIds;
+        do {
+            ownerIds = appUserRepository.findIdsAfter(after, Limit.of(batchSize));
+            if (ownerIds.isEmpty()) {
+                break;
+            }
+            todoCounterService.reconcile(ownerIds);
+            owners += ownerIds.size();
+            after = ownerIds.get(ownerIds.size() - 1);
+        } while (ownerIds.size() == batchSize);
+        log.info("Reconciled todo counters for {} users", owners);
+    }
+}
@@ -0,0 +1,123 @@
+package com.todo.todo.service;
+
+import com.todo.todo.dto.OwnerTodoCounts;
+import com.todo.todo.model.TodoCounter;
+import com.todo.todo.repository.ArchivedTodoRepository;
+import com.todo.todo.repository.TodoCounterRepository;
+import com.todo.todo.repository.TodoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class TodoCounterService {
+
+    private static final Object VERSION_BUMPS = new Object();
+
+    private final TodoCounterRepository todoCounterRepository;
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+
+    public TodoCounterService(
+            TodoCounterRepository todoCounterRepository,
+            TodoRepository todoRepository,
+            ArchivedTodoRepository archivedTodoRepository
+    ) {
+        this.todoCounterRepository = todoCounterRepository;
+        this.todoRepository = todoRepository;
+        this.archivedTodoRepository = archivedTodoRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TodoCounter> findForOwner(Long ownerId) {
+        return todoCounterRepository.findById(ownerId);
+    }
+
+    @Transactional
+    public TodoCounter getForOwner(Long ownerId) {
+        return todoCounterRepository.findById(ownerId).orElseGet(() -> rebuild(ownerId));
+    }
+
+    @Transactional
+    public void createForOwner(Long ownerId) {
+        todoCounterRepository.save(new TodoCounter(ownerId, 0, 0, 0));
+    }
+
+    @Transactional
+    public void adjust(Long ownerId, long totalDelta, long completedDelta) {
+        if (todoCounterRepository.adjust(ownerId, totalDelta, completedDelta) == 0 && !insertFromCounts(ownerId)) {
+            todoCounterRepository.adjust(ownerId, totalDelta, completedDelta);
+        }
+        versionBumps(true).merge(ownerId, 1L, Long::sum);
+    }
+
+    public long versionBumpsInCurrentTransaction(Long ownerId) {
+        return versionBumps(false).getOrDefault(ownerId, 0L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, Long> versionBumps(boolean create) {
+        Map<Long, Long> bumps = (Map<Long, Long>) TransactionSynchronizationManager.getResource(VERSION_BUMPS);
+        if (bumps == null && create && TransactionSynchronizationManager.isSynchronizationActive()) {
+            bumps = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(VERSION_BUMPS, bumps);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(VERSION_BUMPS);
+                }
+            });
+        }
+        return bumps == null ? new HashMap<>() : bumps;
+    }
+
+    @Transactional
+    public TodoCounter rebuild(Long ownerId) {
+        insertFromCounts(ownerId);
+        return todoCounterRepository.findById(ownerId).orElseThrow();
+    }
+
+    private boolean insertFromCounts(Long ownerId) {
+        long archived = archivedTodoRepository.countByOwnerId(ownerId);
+        long total = todoRepository.countByOwnerId(ownerId) + archived;
+        long completed = todoRepository.countByOwnerIdAndStatus(ownerId, true) + archived;
+        return todoCounterRepository.insertIfAbsent(ownerId, total, completed) == 1;
+    }
+
+    @Transactional
+    public void reconcile(Collection<Long> ownerIds) {
+        Map<Long, TodoCounter> counters = new HashMap<>();
+        for (TodoCounter counter : todoCounterRepository.findByOwnerIdIn(ownerIds)) {
+            counters.put(counter.getOwnerId(), counter);
+        }
+        Map<Long, OwnerTodoCounts> counts = new HashMap<>();
+        for (OwnerTodoCounts ownerCounts : todoRepository.countByOwnerIdIn(ownerIds)) {
+            counts.put(ownerCounts.ownerId(), ownerCounts);
+        }
+        for (OwnerTodoCounts archived : archivedTodoRepository.countByOwnerIdIn(ownerIds)) {
+            counts.merge(archived.ownerId(), archived, (live, cold) -> new OwnerTodoCounts(
+                    live.ownerId(), live.total() + cold.total(), live.completed() + cold.completed()));
+        }
+
+        for (Long ownerId : ownerIds) {
+            OwnerTodoCounts ownerCounts = counts.get(ownerId);
+            long total = ownerCounts == null ? 0 : ownerCounts.total();
+            long completed = ownerCounts == null ? 0 : ownerCounts.completed();
+            TodoCounter counter = counters.get(ownerId);
+            if (counter == null) {
+                todoCounterRepository.insertIfAbsent(ownerId, total, completed);
+            } else if (counter.getTotal() != total || counter.getCompleted() != completed) {
+                counter.setTotal(total);
+                counter.setCompleted(completed);
+                counter.setVersion(counter.getVersion() + 1);
+            }
+        }
+    }
+}
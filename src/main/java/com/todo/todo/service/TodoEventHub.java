@@ -0,0 +1,297 @@
+package com.todo.todo.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class TodoEventHub {
+
+    private static final String CHANGE = "change";
+    private static final String RESET = "reset";
+    private static final String READY = "ready";
+
+    private final ConcurrentMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicLong epochs = new AtomicLong(System.currentTimeMillis());
+    private final Executor dispatcher;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int historySize;
+    private final long idleRetentionNanos;
+
+    public TodoEventHub(
+            @Value("${todo.events.timeout:30m}") Duration timeout,
+            @Value("${todo.events.buffer-size:64}") int bufferSize,
+            @Value("${todo.events.history-size:256}") int historySize,
+            @Value("${todo.events.idle-retention:5m}") Duration idleRetention,
+            @Value("${todo.events.dispatcher-threads:4}") int dispatcherThreads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.historySize = historySize;
+        this.idleRetentionNanos = idleRetention.toNanos();
+        this.dispatcher = createDispatcher(dispatcherThreads, virtualThreads);
+    }
+
+    private static Executor createDispatcher(int threads, boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("todo-events-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("todo-events-"));
+    }
+
+    public SseEmitter subscribe(Long ownerId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> detach(ownerId, subscriber));
+        emitter.onTimeout(() -> detach(ownerId, subscriber));
+        emitter.onError(error -> detach(ownerId, subscriber));
+
+        channels.compute(ownerId, (id, existing) -> {
+            Channel channel = existing == null ? new Channel(epochs.incrementAndGet()) : existing;
+            channel.attach(subscriber, lastEventId);
+            return channel;
+        });
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChange(TodoChangeEvent event) {
+        List<Subscriber> evicted = new ArrayList<>();
+        channels.computeIfPresent(event.ownerId(), (id, channel) -> {
+            channel.publish(event, evicted);
+            return channel;
+        });
+        evicted.forEach(Subscriber::close);
+    }
+
+    @Scheduled(fixedRateString = "${todo.events.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        long idleCutoff = System.nanoTime() - idleRetentionNanos;
+        List<Subscriber> evicted = new ArrayList<>();
+        for (Long ownerId : channels.keySet()) {
+            channels.computeIfPresent(ownerId, (id, channel) -> {
+                if (channel.isIdleSince(idleCutoff)) {
+                    return null;
+                }
+                channel.heartbeat(evicted);
+                return channel;
+            });
+        }
+        evicted.forEach(Subscriber::close);
+    }
+
+    public int subscriberCount() {
+        return channels.values().stream().mapToInt(Channel::subscriberCount).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dispatcher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        } else if (dispatcher instanceof SimpleAsyncTaskExecutor taskExecutor) {
+            taskExecutor.close();
+        }
+        channels.values().forEach(Channel::closeAll);
+        channels.clear();
+    }
+
+    private void detach(Long ownerId, Subscriber subscriber) {
+        subscriber.closed.set(true);
+        channels.computeIfPresent(ownerId, (id, channel) -> {
+            channel.remove(subscriber);
+            return channel;
+        });
+    }
+
+    private record Entry(String id, String name, Object data) {
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("ping");
+            }
+            return SseEmitter.event().id(id).name(name).data(data);
+        }
+    }
+
+    private final class Channel {
+        private final long epoch;
+        private final ArrayDeque<Entry> history = new ArrayDeque<>();
+        private final Set<Subscriber> subscribers = new HashSet<>();
+        private long sequence;
+        private long idleSince = System.nanoTime();
+
+        private Channel(long epoch) {
+            this.epoch = epoch;
+        }
+
+        private String currentId() {
+            return epoch + "-" + sequence;
+        }
+
+        private void attach(Subscriber subscriber, String lastEventId) {
+            subscribers.add(subscriber);
+            if (lastEventId == null || lastEventId.isBlank()) {
+                subscriber.offer(new Entry(currentId(), READY, "ready"));
+                return;
+            }
+            List<Entry> missed = missedSince(lastEventId);
+            if (missed == null || missed.size() > bufferSize) {
+                subscriber.offer(new Entry(currentId(), RESET, "reset"));
+                return;
+            }
+            missed.forEach(subscriber::offer);
+        }
+
+        private List<Entry> missedSince(String lastEventId) {
+            int separator = lastEventId.indexOf('-');
+            long lastEpoch;
+            long lastSequence;
+            try {
+                lastEpoch = Long.parseLong(lastEventId.substring(0, separator));
+                lastSequence = Long.parseLong(lastEventId.substring(separator + 1));
+            } catch (RuntimeException exception) {
+                return null;
+            }
+            long oldestRetained = sequence - history.size() + 1;
+            if (lastEpoch != epoch || lastSequence > sequence || lastSequence < oldestRetained - 1) {
+                return null;
+            }
+            List<Entry> missed = new ArrayList<>();
+            long entrySequence = oldestRetained;
+            for (Entry entry : history) {
+                if (entrySequence++ > lastSequence) {
+                    missed.add(entry);
+                }
+            }
+            return missed;
+        }
+
+        private void publish(TodoChangeEvent event, List<Subscriber> evicted) {
+            sequence++;
+            Entry entry = event.type() == TodoChangeEvent.Type.RESET
+                    ? new Entry(currentId(), RESET, "reset")
+                    : new Entry(currentId(), CHANGE, event.toChange());
+            history.addLast(entry);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            offerAll(entry, evicted);
+        }
+
+        private void heartbeat(List<Subscriber> evicted) {
+            offerAll(new Entry(null, null, null), evicted);
+        }
+
+        private void offerAll(Entry entry, List<Subscriber> evicted) {
+            subscribers.removeIf(subscriber -> {
+                if (subscriber.offer(entry)) {
+                    return false;
+                }
+                evicted.add(subscriber);
+                return true;
+            });
+            markIdleIfEmpty();
+        }
+
+        private void remove(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+            markIdleIfEmpty();
+        }
+
+        private void markIdleIfEmpty() {
+            if (subscribers.isEmpty()) {
+                idleSince = Math.min(idleSince, System.nanoTime());
+            } else {
+                idleSince = Long.MAX_VALUE;
+            }
+        }
+
+        private boolean isIdleSince(long cutoff) {
+            return subscribers.isEmpty() && idleSince - cutoff < 0;
+        }
+
+        private int subscriberCount() {
+            return subscribers.size();
+        }
+
+        private void closeAll() {
+            subscribers.forEach(Subscriber::close);
+            subscribers.clear();
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private boolean offer(Entry entry) {
+            if (closed.get()) {
+                return false;
+            }
+            if (!queue.offer(entry)) {
+                return false;
+            }
+            scheduleDrain();
+            return true;
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Entry entry;
+                while (!closed.get() && (entry = queue.poll()) != null) {
+                    emitter.send(entry.toEvent());
+                }
+            } catch (Exception exception) {
+                closed.set(true);
+            } finally {
+                draining.set(false);
+                if (!closed.get() && !queue.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.todo.todo.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo.model.Todo;
+import com.todo.todo.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class TodoExportService {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final TodoRepository todoRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public TodoExportService(TodoRepository todoRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.todoRepository = todoRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void writeNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<Todo> todos = todoRepository.streamAllByOrderByIdAsc()) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<Todo> iterator = todos.iterator();
+            long written = 0;
+            while (iterator.hasNext()) {
+                Todo todo = iterator.next();
+                objectMapper.writeValue(generator, todo);
+                generator.writeRaw('\n');
+                entityManager.detach(todo);
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<Todo> todos = todoRepository.streamAllByOrderByIdAsc()) {
+            writer.write("id,title,status\n");
+            Iterator<Todo> iterator = todos.iterator();
+            long written = 0;
+            while (iterator.hasNext()) {
+                Todo todo = iterator.next();
+                writer.write(String.valueOf(todo.getId()));
+                writer.write(',');
+                writer.write(csvField(todo.getTitle()));
+                writer.write(',');
+                writer.write(String.valueOf(todo.isStatus()));
+                writer.write('\n');
+                entityManager.detach(todo);
+                if (++written % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
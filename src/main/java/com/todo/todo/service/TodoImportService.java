@@ -0,0 +1,335 @@
+package com.todo.todo.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todo.todo.dto.TodoImportResponse;
+import com.todo.todo.model.AppUser;
+import com.todo.todo.model.Todo;
+import com.todo.todo.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Service
+public class TodoImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoImportService.class);
+
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final TodoRepository todoRepository;
+    private final TodoCounterService todoCounterService;
+    private final TodoCache todoCache;
+    private final StatusWriteBehind statusWriteBehind;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public TodoImportService(
+            TodoRepository todoRepository,
+            TodoCounterService todoCounterService,
+            TodoCache todoCache,
+            StatusWriteBehind statusWriteBehind,
+            ApplicationEventPublisher eventPublisher,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${todo.import.chunk-size:1000}") int chunkSize
+    ) {
+        this.todoRepository = todoRepository;
+        this.todoCounterService = todoCounterService;
+        this.todoCache = todoCache;
+        this.statusWriteBehind = statusWriteBehind;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public TodoImportResponse importJson(AppUser user, InputStream in) {
+        Import run = new Import(user);
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                JsonNode node = parser.readValueAsTree();
+                run.accept(titleOf(node), statusOf(node));
+                token = parser.nextToken();
+            }
+            if (array && token != JsonToken.END_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, run.abortMessage("Unterminated JSON array"));
+            }
+        } catch (JsonProcessingException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    run.abortMessage("Malformed JSON at line " + exception.getLocation().getLineNr()));
+        } catch (IOException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, run.abortMessage("Upload interrupted"));
+        }
+        return run.finish();
+    }
+
+    public TodoImportResponse importCsv(AppUser user, Reader in) {
+        Import run = new Import(user);
+        try {
+            CsvReader csv = new CsvReader(in);
+            List<String> record = csv.next();
+            int titleColumn = 0;
+            int statusColumn = 1;
+            if (record != null && record.stream().anyMatch(field -> field.trim().equalsIgnoreCase("title"))) {
+                titleColumn = indexOf(record, "title");
+                statusColumn = indexOf(record, "status");
+                record = csv.next();
+            }
+            while (record != null) {
+                String title = titleColumn < record.size() ? record.get(titleColumn) : null;
+                String status = statusColumn >= 0 && statusColumn < record.size() ? record.get(statusColumn) : "";
+                run.accept(title, parseStatus(status));
+                record = csv.next();
+            }
+        } catch (IOException exception) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, run.abortMessage("Upload interrupted"));
+        }
+        return run.finish();
+    }
+
+    private static String titleOf(JsonNode node) {
+        return node.isObject() ? node.path("title").textValue() : null;
+    }
+
+    private static Boolean statusOf(JsonNode node) {
+        JsonNode status = node.path("status");
+        if (status.isMissingNode() || status.isNull()) {
+            return false;
+        }
+        return status.isBoolean() ? status.booleanValue() : null;
+    }
+
+    private static Boolean parseStatus(String value) {
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "", "false", "0", "no" -> false;
+            case "true", "1", "yes" -> true;
+            default -> null;
+        };
+    }
+
+    private static int indexOf(List<String> header, String column) {
+        for (int index = 0; index < header.size(); index++) {
+            if (header.get(index).trim().equalsIgnoreCase(column)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private int insertChunk(AppUser user, List<Todo> chunk) {
+        try {
+            return transactionTemplate.execute(status -> insert(user, chunk));
+        } catch (DataIntegrityViolationException exception) {
+            if (!TodoService.isDuplicateTitle(exception)) {
+                throw exception;
+            }
+            try {
+                return transactionTemplate.execute(status -> insert(user, chunk));
+            } catch (DataIntegrityViolationException retryException) {
+                if (!TodoService.isDuplicateTitle(retryException)) {
+                    throw retryException;
+                }
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Tasks were created concurrently, please retry the import");
+            }
+        } finally {
+            todoCache.invalidate(user.getId());
+        }
+    }
+
+    private int insert(AppUser user, List<Todo> chunk) {
+        Set<String> titles = new HashSet<>();
+        for (Todo todo : chunk) {
+            titles.add(todo.getTitle());
+        }
+        Set<String> taken = new HashSet<>(todoRepository.findTitlesByOwnerIdAndTitleIn(user.getId(), titles));
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(chunk.size());
+        int inserted = 0;
+        int completed = 0;
+        for (Todo todo : chunk) {
+            if (taken.add(todo.getTitle())) {
+                Todo row = new Todo(null, todo.getTitle(), todo.isStatus(), user, null);
+                entityManager.persist(row);
+                inserted++;
+                completed += row.isStatus() ? 1 : 0;
+            }
+        }
+        todoRepository.flush();
+        entityManager.clear();
+        if (inserted > 0) {
+            todoCounterService.adjust(user.getId(), inserted, completed);
+        }
+        return inserted;
+    }
+
+    private final class Import {
+        private final AppUser user;
+        private final long startedAt = System.nanoTime();
+        private final List<Todo> chunk = new ArrayList<>(chunkSize);
+        private final List<String> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long duplicates;
+        private long invalid;
+
+        private Import(AppUser user) {
+            this.user = user;
+            statusWriteBehind.flush(user.getId());
+        }
+
+        private void accept(String title, Boolean status) {
+            received++;
+            if (title == null || title.isBlank()) {
+                reject("Title is required");
+                return;
+            }
+            if (title.length() > MAX_TITLE_LENGTH) {
+                reject("Title is longer than " + MAX_TITLE_LENGTH + " characters");
+                return;
+            }
+            if (status == null) {
+                reject("Status must be true or false");
+                return;
+            }
+            chunk.add(new Todo(null, title, status, null, null));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void reject(String message) {
+            invalid++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("row " + received + ": " + message);
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            int inserted = insertChunk(user, chunk);
+            imported += inserted;
+            duplicates += chunk.size() - inserted;
+            chunk.clear();
+            log.debug("Import for user {}: {} rows read, {} imported so far", user.getId(), received, imported);
+        }
+
+        private String abortMessage(String reason) {
+            announce();
+            return reason + " after row " + received + "; " + imported + " tasks were imported before the error";
+        }
+
+        private TodoImportResponse finish() {
+            flush();
+            announce();
+            log.info("Imported {} of {} tasks for user {} in {} ms ({} duplicates, {} invalid)",
+                    imported, received, user.getId(), (System.nanoTime() - startedAt) / 1_000_000, duplicates, invalid);
+            return new TodoImportResponse(received, imported, duplicates, invalid, errors);
+        }
+
+        private void announce() {
+            if (imported > 0) {
+                eventPublisher.publishEvent(TodoChangeEvent.reset(user.getId()));
+            }
+        }
+    }
+
+    private static final class CsvReader {
+        private final Reader reader;
+        private int pending = -2;
+
+        private CsvReader(Reader reader) {
+            this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+        }
+
+        private int read() throws IOException {
+            if (pending != -2) {
+                int c = pending;
+                pending = -2;
+                return c;
+            }
+            return reader.read();
+        }
+
+        private List<String> next() throws IOException {
+            int c = read();
+            if (c == 0xFEFF) {
+                c = read();
+            }
+            while (c == '\r' || c == '\n') {
+                c = read();
+            }
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            pending = next;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+    }
+}
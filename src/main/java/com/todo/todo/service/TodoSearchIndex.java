@@ -0,0 +1,309 @@
+package com.todo.todo.service;
+
+import com.todo.todo.model.Todo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+final class TodoSearchIndex {
+
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int WORD_PREFIX = 2;
+    private static final int SUBSTRING = 3;
+    static final int GRAM = 3;
+    private static final int MAX_RANKED_LENGTH = 0xFFFFFF;
+    private static final int MIN_OVERLAY_LIMIT = 256;
+    private static final Comparator<Hit> HIT_ORDER = Comparator.comparingInt(Hit::rank)
+            .thenComparingInt(Hit::length)
+            .thenComparing(hit -> hit.todo().id());
+
+    private final TodoCache.CachedTodo[] todos;
+    private final String[] folded;
+    private final int[] wordEntries;
+    private final int[] wordOffsets;
+    private final Map<Long, int[]> postings;
+    private final Map<Long, Added> added;
+    private final BitSet hidden;
+    private final int hiddenCount;
+
+    private TodoSearchIndex(TodoSearchIndex base, Map<Long, Added> added, BitSet hidden, int hiddenCount) {
+        this.todos = base.todos;
+        this.folded = base.folded;
+        this.wordEntries = base.wordEntries;
+        this.wordOffsets = base.wordOffsets;
+        this.postings = base.postings;
+        this.added = added;
+        this.hidden = hidden;
+        this.hiddenCount = hiddenCount;
+    }
+
+    TodoSearchIndex(Collection<TodoCache.CachedTodo> source) {
+        added = Map.of();
+        hidden = new BitSet();
+        hiddenCount = 0;
+        todos = source.toArray(TodoCache.CachedTodo[]::new);
+        Arrays.sort(todos, Comparator.comparing(TodoCache.CachedTodo::id));
+        folded = new String[todos.length];
+        for (int i = 0; i < todos.length; i++) {
+            folded[i] = fold(todos[i].title());
+        }
+
+        List<int[]> words = new ArrayList<>();
+        Map<Long, IntList> grams = new HashMap<>();
+        for (int entry = 0; entry < folded.length; entry++) {
+            String title = folded[entry];
+            for (int offset = 0; offset < title.length(); offset++) {
+                if (isWordStart(title, offset)) {
+                    words.add(new int[]{entry, offset});
+                }
+                if (offset + GRAM <= title.length()) {
+                    grams.computeIfAbsent(gram(title, offset), key -> new IntList()).addDistinct(entry);
+                }
+            }
+        }
+        words.sort((left, right) -> compareSuffixes(left[0], left[1], right[0], right[1]));
+        wordEntries = new int[words.size()];
+        wordOffsets = new int[words.size()];
+        for (int i = 0; i < words.size(); i++) {
+            wordEntries[i] = words.get(i)[0];
+            wordOffsets[i] = words.get(i)[1];
+        }
+        postings = new HashMap<>(grams.size() * 2);
+        grams.forEach((key, list) -> postings.put(key, list.toArray()));
+    }
+
+    TodoSearchIndex withChange(Long id, TodoCache.CachedTodo todo) {
+        Map<Long, Added> nextAdded = new HashMap<>(added);
+        nextAdded.remove(id);
+        if (todo != null) {
+            nextAdded.put(id, new Added(todo, fold(todo.title())));
+        }
+        BitSet nextHidden = hidden;
+        int nextHiddenCount = hiddenCount;
+        int entry = entryOf(id);
+        if (entry >= 0 && !hidden.get(entry)) {
+            nextHidden = (BitSet) hidden.clone();
+            nextHidden.set(entry);
+            nextHiddenCount++;
+        }
+        if (nextAdded.size() + nextHiddenCount > Math.max(MIN_OVERLAY_LIMIT, todos.length / 16)) {
+            List<TodoCache.CachedTodo> live = new ArrayList<>(todos.length + nextAdded.size());
+            for (int i = nextHidden.nextClearBit(0); i < todos.length; i = nextHidden.nextClearBit(i + 1)) {
+                live.add(todos[i]);
+            }
+            nextAdded.values().forEach(change -> live.add(change.todo()));
+            return new TodoSearchIndex(live);
+        }
+        return new TodoSearchIndex(this, nextAdded, nextHidden, nextHiddenCount);
+    }
+
+    static String fold(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    List<Todo> search(String query, int limit) {
+        String needle = fold(query);
+        PriorityQueue<Long> best = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+        if (needle.isEmpty()) {
+            return List.of();
+        }
+        if (needle.length() < GRAM) {
+            BitSet seen = new BitSet(todos.length);
+            for (int i = lowerBound(needle); i < wordEntries.length && folded[wordEntries[i]].startsWith(needle, wordOffsets[i]); i++) {
+                int entry = wordEntries[i];
+                if (!seen.get(entry) && !hidden.get(entry)) {
+                    seen.set(entry);
+                    offer(best, limit, entry, rank(folded[entry], needle));
+                }
+            }
+        } else {
+            for (int entry : candidates(needle)) {
+                int rank = hidden.get(entry) ? -1 : rank(folded[entry], needle);
+                if (rank >= 0) {
+                    offer(best, limit, entry, rank);
+                }
+            }
+        }
+        if (added.isEmpty()) {
+            Todo[] results = new Todo[best.size()];
+            for (int i = results.length - 1; i >= 0; i--) {
+                results[i] = todos[(int) (best.poll() & 0xFFFFFFFFL)].toTodo();
+            }
+            return Arrays.asList(results);
+        }
+
+        List<Hit> hits = new ArrayList<>(best.size());
+        for (long key : best) {
+            hits.add(new Hit((int) (key >>> 56), (int) ((key >>> 32) & MAX_RANKED_LENGTH), todos[(int) (key & 0xFFFFFFFFL)]));
+        }
+        for (Added change : added.values()) {
+            int rank = rank(change.folded(), needle);
+            if (rank >= 0 && (needle.length() >= GRAM || hasWordStartingWith(change.folded(), needle))) {
+                hits.add(new Hit(rank, Math.min(change.folded().length(), MAX_RANKED_LENGTH), change.todo()));
+            }
+        }
+        hits.sort(HIT_ORDER);
+        return hits.stream().limit(limit).map(hit -> hit.todo().toTodo()).toList();
+    }
+
+    private void offer(PriorityQueue<Long> best, int limit, int entry, int rank) {
+        long key = ((long) rank << 56) | ((long) Math.min(folded[entry].length(), MAX_RANKED_LENGTH) << 32) | entry;
+        if (best.size() < limit) {
+            best.offer(key);
+        } else if (key < best.peek()) {
+            best.poll();
+            best.offer(key);
+        }
+    }
+
+    private static int rank(String title, String needle) {
+        if (title.equals(needle)) {
+            return EXACT;
+        }
+        if (title.startsWith(needle)) {
+            return PREFIX;
+        }
+        if (!title.contains(needle)) {
+            return -1;
+        }
+        return hasWordStartingWith(title, needle) ? WORD_PREFIX : SUBSTRING;
+    }
+
+    private static boolean hasWordStartingWith(String title, String needle) {
+        for (int at = title.indexOf(needle); at >= 0; at = title.indexOf(needle, at + 1)) {
+            if (isWordStart(title, at)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int entryOf(Long id) {
+        int low = 0;
+        int high = todos.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = todos[middle].id().compareTo(id);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private int[] candidates(String needle) {
+        List<int[]> lists = new ArrayList<>();
+        for (int offset = 0; offset + GRAM <= needle.length(); offset++) {
+            int[] list = postings.get(gram(needle, offset));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private int lowerBound(String needle) {
+        int low = 0;
+        int high = wordEntries.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareSuffix(folded[wordEntries[middle]], wordOffsets[middle], needle) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compareSuffixes(int leftEntry, int leftOffset, int rightEntry, int rightOffset) {
+        return compareRegions(folded[leftEntry], leftOffset, folded[rightEntry], rightOffset);
+    }
+
+    private static int compareSuffix(String title, int offset, String needle) {
+        return compareRegions(title, offset, needle, 0);
+    }
+
+    private static int compareRegions(String left, int leftOffset, String right, int rightOffset) {
+        int leftLength = left.length() - leftOffset;
+        int rightLength = right.length() - rightOffset;
+        int length = Math.min(leftLength, rightLength);
+        for (int i = 0; i < length; i++) {
+            int difference = left.charAt(leftOffset + i) - right.charAt(rightOffset + i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return leftLength - rightLength;
+    }
+
+    private static boolean isWordStart(String title, int offset) {
+        return Character.isLetterOrDigit(title.charAt(offset))
+                && (offset == 0 || !Character.isLetterOrDigit(title.charAt(offset - 1)));
+    }
+
+    private static long gram(String value, int offset) {
+        return ((long) value.charAt(offset) << 32) | ((long) value.charAt(offset + 1) << 16) | value.charAt(offset + 2);
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private record Added(TodoCache.CachedTodo todo, String folded) {
+    }
+
+    private record Hit(int rank, int length, TodoCache.CachedTodo todo) {
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void addDistinct(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -1,89 +1,463 @@
 package com.todo.todo.service;
 
+import com.todo.todo.dto.TodoBatchOperation;
+import com.todo.todo.dto.TodoBatchResponse;
+import com.todo.todo.dto.TodoBatchResult;
+import com.todo.todo.dto.TodoPage;
+import com.todo.todo.dto.TodoView;
+import com.todo.todo.dto.TodoViewPage;
 import com.todo.todo.model.AppUser;
 import com.todo.todo.model.Todo;
+import com.todo.todo.model.TodoCounter;
+import com.todo.todo.repository.ArchivedTodoRepository;
 import com.todo.todo.repository.TodoRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Service
 public class TodoService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 1000;
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final TodoCounterService todoCounterService;
+    private final TodoCache todoCache;
+    private final StatusWriteBehind statusWriteBehind;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
 
-    public TodoService(TodoRepository todoRepository) {
+    public TodoService(
+            TodoRepository todoRepository,
+            ArchivedTodoRepository archivedTodoRepository,
+            TodoCounterService todoCounterService,
+            TodoCache todoCache,
+            StatusWriteBehind statusWriteBehind,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager
+    ) {
         this.todoRepository = todoRepository;
+        this.archivedTodoRepository = archivedTodoRepository;
+        this.todoCounterService = todoCounterService;
+        this.todoCache = todoCache;
+        this.statusWriteBehind = statusWriteBehind;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void flushPendingWrites() {
+        statusWriteBehind.flushAll();
     }
 
-    public List<Todo> getAllTodosForUser(AppUser user) {
-        return todoRepository.findByOwnerId(user.getId());
+    private void flushPendingWrites(AppUser user) {
+        statusWriteBehind.flush(user.getId());
     }
 
-    public List<Todo> getTodosByStatusForUser(AppUser user, boolean status) {
-        return todoRepository.findByOwnerIdAndStatus(user.getId(), status);
+    public List<TodoView> getAllTodosForUser(AppUser user) {
+        flushPendingWrites(user);
+        return readOnlyTransaction.execute(status -> todoRepository.findViewsByOwnerId(user.getId()));
+    }
+
+    public List<TodoView> getTodosByStatusForUser(AppUser user, boolean status) {
+        flushPendingWrites(user);
+        return readOnlyTransaction.execute(transaction -> todoRepository.findViewsByOwnerIdAndStatus(user.getId(), status));
+    }
+
+    public TodoPage getTodoPageForUser(AppUser user, Long cursor, int limit) {
+        flushPendingWrites(user);
+        Limit fetchLimit = fetchLimit(limit);
+        return toPage(readOnlyTransaction.execute(status -> todoRepository.findByOwnerIdAndIdGreaterThanOrderByIdAsc(
+                user.getId(), startAfter(cursor), fetchLimit)), limit);
+    }
+
+    public TodoPage getTodoPageByStatusForUser(AppUser user, boolean status, Long cursor, int limit) {
+        flushPendingWrites(user);
+        Limit fetchLimit = fetchLimit(limit);
+        List<Todo> rows = readOnlyTransaction.execute(transaction -> todoRepository
+                .findByOwnerIdAndStatusAndIdGreaterThanOrderByIdAsc(user.getId(), status, startAfter(cursor), fetchLimit));
+        return toPage(rows, limit);
     }
 
     public Todo getTodoByIdForUser(AppUser user, Long id) {
-        return todoRepository.findByOwnerIdAndId(user.getId(), id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+        flushPendingWrites(user);
+        return todoCache.findById(user.getId(), id).orElseThrow(TodoService::notFound);
     }
 
     public Todo getTodoByTitleForUser(AppUser user, String title) {
-        return todoRepository.findByOwnerIdAndTitle(user.getId(), title)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found"));
+        flushPendingWrites(user);
+        return todoCache.findByTitle(user.getId(), title).orElseThrow(TodoService::notFound);
     }
 
-    public Todo createTodoForUser(AppUser user, Todo todo) {
-        if (todoRepository.existsByOwnerIdAndTitle(user.getId(), todo.getTitle())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Task with this title already exists");
+    public List<Todo> searchTodosForUser(AppUser user, String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is required");
         }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        flushPendingWrites(user);
+        return todoCache.search(user.getId(), query.trim(), limit);
+    }
+
+    private static Todo toTodo(TodoView view) {
+        return new Todo(view.id(), view.title(), view.status(), null, null);
+    }
+
+    @Transactional
+    public Todo createTodoForUser(AppUser user, Todo todo) {
+        requireTitle(todo);
+        flushPendingWrites(user);
         todo.setOwner(user);
-        return todoRepository.save(todo);
+        Todo saved = rejectDuplicateTitle(() -> todoRepository.saveAndFlush(todo));
+        todoCounterService.adjust(user.getId(), 1, saved.isStatus() ? 1 : 0);
+        publish(user, TodoChangeEvent.Type.CREATED, saved);
+        return saved;
     }
 
+    @Transactional
     public void deleteTodoForUser(AppUser user, Long id) {
-        getTodoByIdForUser(user, id);
-        todoRepository.deleteById(id);
+        flushPendingWrites(user);
+        Todo expected = todoCache.peekById(user.getId(), id).orElseGet(() -> new Todo(id, null, false, null, null));
+        if (!deleteTodo(user, expected, null)) {
+            throw notFound();
+        }
     }
 
+    @Transactional
     public void deleteTodoByTitleForUser(AppUser user, String title) {
-        if (!todoRepository.existsByOwnerIdAndTitle(user.getId(), title)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found");
+        flushPendingWrites(user);
+        if (todoCache.peekByTitle(user.getId(), title).map(expected -> deleteTodo(user, expected, title)).orElse(false)) {
+            return;
+        }
+        if (!deleteTodo(user, storedByTitle(user, title), title)) {
+            throw notFound();
         }
+    }
 
-        todoRepository.deleteByOwnerIdAndTitle(user.getId(), title);
+    public Optional<Todo> deferStatusUpdateForUser(AppUser user, Long id, Todo updateTodo) {
+        requireTitle(updateTodo);
+        if (!statusWriteBehind.isEnabled()) {
+            return Optional.empty();
+        }
+        String title = statusWriteBehind.pending(user.getId(), id)
+                .map(StatusWriteBehind.Pending::title)
+                .or(() -> todoRepository.findViewByOwnerIdAndId(user.getId(), id).map(TodoView::title))
+                .orElse(null);
+        if (!updateTodo.getTitle().equals(title)
+                || !statusWriteBehind.defer(user.getId(), id, title, updateTodo.isStatus())) {
+            return Optional.empty();
+        }
+        return Optional.of(new Todo(id, title, updateTodo.isStatus(), null, null));
     }
 
+    @Transactional
     public Todo updateTodoForUser(AppUser user, Long id, Todo updateTodo) {
-        Todo todo = getTodoByIdForUser(user, id);
+        requireTitle(updateTodo);
+        flushPendingWrites(user);
+        Todo expected = todoCache.peekById(user.getId(), id)
+                .orElseGet(() -> new Todo(id, null, !updateTodo.isStatus(), null, null));
+        return updateTodo(user, expected, null, updateTodo).orElseThrow(TodoService::notFound);
+    }
 
-        todo.setTitle(updateTodo.getTitle());
-        todo.setStatus(updateTodo.isStatus());
+    @Transactional
+    public Todo updateTodoByTitleForUser(AppUser user, String title, Todo updateTodo) {
+        requireTitle(updateTodo);
+        flushPendingWrites(user);
+        return todoCache.peekByTitle(user.getId(), title)
+                .flatMap(expected -> updateTodo(user, expected, title, updateTodo))
+                .or(() -> updateTodo(user, storedByTitle(user, title), title, updateTodo))
+                .orElseThrow(TodoService::notFound);
+    }
 
-        return todoRepository.save(todo);
+    private Todo storedByTitle(AppUser user, String title) {
+        return todoRepository.findViewByOwnerIdAndTitle(user.getId(), title)
+                .map(TodoService::toTodo)
+                .orElseThrow(TodoService::notFound);
     }
 
-    public Todo updateTodoByTitleForUser(AppUser user, String title, Todo updateTodo) {
-        Todo todo = getTodoByTitleForUser(user, title);
+    private boolean deleteTodo(AppUser user, Todo expected, String title) {
+        for (boolean status : new boolean[]{expected.isStatus(), !expected.isStatus()}) {
+            int deleted = title == null
+                    ? todoRepository.deleteIfStatus(user.getId(), expected.getId(), status)
+                    : todoRepository.deleteIfUnchanged(user.getId(), expected.getId(), title, status);
+            if (deleted == 1) {
+                todoCounterService.adjust(user.getId(), -1, status ? -1 : 0);
+                publish(user, TodoChangeEvent.Type.DELETED,
+                        new Todo(expected.getId(), title == null ? expected.getTitle() : title, status, null, null));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Optional<Todo> updateTodo(AppUser user, Todo expected, String title, Todo updateTodo) {
+        Instant completedAt = updateTodo.isStatus() ? Instant.now() : null;
+        for (boolean status : new boolean[]{expected.isStatus(), !expected.isStatus()}) {
+            int updated = rejectDuplicateTitle(() -> title == null
+                    ? todoRepository.updateIfStatus(user.getId(), expected.getId(), status,
+                            updateTodo.getTitle(), updateTodo.isStatus(), completedAt)
+                    : todoRepository.updateIfUnchanged(user.getId(), expected.getId(), title, status,
+                            updateTodo.getTitle(), updateTodo.isStatus(), completedAt));
+            if (updated == 1) {
+                Todo saved = new Todo(expected.getId(), updateTodo.getTitle(), updateTodo.isStatus(), null, null);
+                todoCounterService.adjust(user.getId(), 0, (saved.isStatus() ? 1 : 0) - (status ? 1 : 0));
+                publish(user, TodoChangeEvent.Type.UPDATED, saved);
+                return Optional.of(saved);
+            }
+        }
+        return Optional.empty();
+    }
 
-        todo.setTitle(updateTodo.getTitle());
-        todo.setStatus(updateTodo.isStatus());
+    private static void requireTitle(Todo todo) {
+        if (todo.getTitle() == null || todo.getTitle().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Title is required");
+        }
+    }
+
+    private static ResponseStatusException notFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Task not found");
+    }
+
+    private static <T> T rejectDuplicateTitle(Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException exception) {
+            if (!isDuplicateTitle(exception)) {
+                throw exception;
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Task with this title already exists");
+        }
+    }
 
-        return todoRepository.save(todo);
+    public static boolean isDuplicateTitle(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Todo.UNIQUE_TITLE);
+            }
+        }
+        return false;
+    }
+
+    private void publish(AppUser user, TodoChangeEvent.Type type, Todo todo) {
+        eventPublisher.publishEvent(TodoChangeEvent.of(user.getId(), type, todo));
+    }
+
+    @Transactional
+    public TodoBatchResponse applyBatchForUser(AppUser user, List<TodoBatchOperation> operations) {
+        flushPendingWrites(user);
+        if (operations == null || operations.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one operation is required");
+        }
+        if (operations.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A batch may contain at most " + MAX_BATCH_SIZE + " operations");
+        }
+
+        Set<Long> ids = new HashSet<>();
+        Set<String> titles = new HashSet<>();
+        for (TodoBatchOperation operation : operations) {
+            if (operation.id() != null) {
+                ids.add(operation.id());
+            }
+            if (operation.title() != null) {
+                titles.add(operation.title());
+            }
+        }
+
+        Map<Long, Todo> todos = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Todo todo : todoRepository.findByOwnerIdAndIdIn(user.getId(), ids)) {
+                todos.put(todo.getId(), todo);
+            }
+        }
+        Set<String> takenTitles = new HashSet<>();
+        if (!titles.isEmpty()) {
+            Collection<String> candidates = todoCache.findCachedTitles(user.getId(), titles).orElse(titles);
+            if (!candidates.isEmpty()) {
+                takenTitles.addAll(todoRepository.findTitlesByOwnerIdAndTitleIn(user.getId(), candidates));
+            }
+        }
+
+        List<TodoBatchResult> results = new ArrayList<>(operations.size());
+        CounterDelta delta = new CounterDelta();
+        int failed = 0;
+        for (int index = 0; index < operations.size(); index++) {
+            TodoBatchResult result = applyBatchOperation(user, index, operations.get(index), todos, takenTitles, titles, delta);
+            if (result.error() != null) {
+                failed++;
+            }
+            results.add(result);
+        }
+        if (results.size() > failed) {
+            todoCounterService.adjust(user.getId(), delta.total, delta.completed);
+        }
+        return new TodoBatchResponse(results.size() - failed, failed, results);
+    }
+
+    private TodoBatchResult applyBatchOperation(
+            AppUser user,
+            int index,
+            TodoBatchOperation operation,
+            Map<Long, Todo> todos,
+            Set<String> takenTitles,
+            Set<String> requestedTitles,
+            CounterDelta delta
+    ) {
+        String op = operation.op() == null ? "" : operation.op().toLowerCase();
+        switch (op) {
+            case "create" -> {
+                if (operation.title() == null || operation.title().isBlank()) {
+                    return TodoBatchResult.failed(index, op, HttpStatus.BAD_REQUEST.value(), "Title is required");
+                }
+                if (!takenTitles.add(operation.title())) {
+                    return TodoBatchResult.failed(index, op, HttpStatus.CONFLICT.value(), "Task with this title already exists");
+                }
+                Todo todo = new Todo();
+                todo.setTitle(operation.title());
+                todo.setStatus(operation.status());
+                todo.setOwner(user);
+                delta.total++;
+                delta.completed += todo.isStatus() ? 1 : 0;
+                Todo saved = todoRepository.save(todo);
+                publish(user, TodoChangeEvent.Type.CREATED, saved);
+                return TodoBatchResult.ok(index, op, HttpStatus.CREATED.value(), saved);
+            }
+            case "update" -> {
+                Todo todo = operation.id() == null ? null : todos.get(operation.id());
+                if (todo == null) {
+                    return TodoBatchResult.failed(index, op, HttpStatus.NOT_FOUND.value(), "Task not found");
+                }
+                if (operation.title() == null || operation.title().isBlank()) {
+                    return TodoBatchResult.failed(index, op, HttpStatus.BAD_REQUEST.value(), "Title is required");
+                }
+                if (!operation.title().equals(todo.getTitle())) {
+                    if (!takenTitles.add(operation.title())) {
+                        return TodoBatchResult.failed(index, op, HttpStatus.CONFLICT.value(), "Task with this title already exists");
+                    }
+                    takenTitles.remove(todo.getTitle());
+                }
+                String previousTitle = todo.getTitle();
+                delta.completed += (operation.status() ? 1 : 0) - (todo.isStatus() ? 1 : 0);
+                todo.setTitle(operation.title());
+                todo.setStatus(operation.status());
+                flushIfTitleReused(previousTitle, operation.title(), requestedTitles);
+                publish(user, TodoChangeEvent.Type.UPDATED, todo);
+                return TodoBatchResult.ok(index, op, HttpStatus.OK.value(), todo);
+            }
+            case "delete" -> {
+                Todo todo = operation.id() == null ? null : todos.remove(operation.id());
+                if (todo == null) {
+                    return TodoBatchResult.failed(index, op, HttpStatus.NOT_FOUND.value(), "Task not found");
+                }
+                takenTitles.remove(todo.getTitle());
+                todoRepository.delete(todo);
+                flushIfTitleReused(todo.getTitle(), null, requestedTitles);
+                delta.total--;
+                delta.completed -= todo.isStatus() ? 1 : 0;
+                publish(user, TodoChangeEvent.Type.DELETED, todo);
+                return TodoBatchResult.ok(index, op, HttpStatus.NO_CONTENT.value(), null);
+            }
+            default -> {
+                return TodoBatchResult.failed(index, op, HttpStatus.BAD_REQUEST.value(), "Operation must be create, update or delete");
+            }
+        }
+    }
+
+    private void flushIfTitleReused(String freedTitle, String newTitle, Set<String> requestedTitles) {
+        if (freedTitle != null && !freedTitle.equals(newTitle) && requestedTitles.contains(freedTitle)) {
+            todoRepository.flush();
+        }
     }
 
     public long countTotalForUser(AppUser user) {
-        return todoRepository.countByOwnerId(user.getId());
+        return countersFor(user).getTotal();
     }
 
     public long countCompletedForUser(AppUser user) {
-        return todoRepository.countByOwnerIdAndStatus(user.getId(), true);
+        return countersFor(user).getCompleted();
+    }
+
+    public TodoCounter getCountersForUser(AppUser user) {
+        return countersFor(user);
+    }
+
+    private TodoCounter countersFor(AppUser user) {
+        flushPendingWrites(user);
+        return todoCounterService.findForOwner(user.getId())
+                .orElseGet(() -> todoCounterService.getForOwner(user.getId()));
+    }
+
+    public long getVersionForUser(AppUser user) {
+        return countersFor(user).getVersion();
+    }
+
+    public List<TodoView> getAllTodosForAdmin() {
+        flushPendingWrites();
+        return readOnlyTransaction.execute(status -> todoRepository.findAllViews());
+    }
+
+    @Transactional(readOnly = true)
+    public TodoViewPage getArchivedTodoPageForUser(AppUser user, Long cursor, int limit) {
+        Limit fetchLimit = fetchLimit(limit);
+        List<TodoView> rows = readOnlyTransaction.execute(status ->
+                archivedTodoRepository.findViewsByOwnerIdAfter(user.getId(), startAfter(cursor), fetchLimit));
+        if (rows.size() <= limit) {
+            return new TodoViewPage(rows, null);
+        }
+        List<TodoView> items = rows.subList(0, limit);
+        return new TodoViewPage(items, items.get(limit - 1).id());
+    }
+
+    public TodoPage getTodoPageForAdmin(Long cursor, int limit) {
+        flushPendingWrites();
+        Limit fetchLimit = fetchLimit(limit);
+        return toPage(readOnlyTransaction.execute(status ->
+                todoRepository.findByIdGreaterThanOrderByIdAsc(startAfter(cursor), fetchLimit)), limit);
+    }
+
+    private Long startAfter(Long cursor) {
+        return cursor == null ? 0L : cursor;
+    }
+
+    private Limit fetchLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return Limit.of(limit + 1);
+    }
+
+    private TodoPage toPage(List<Todo> rows, int limit) {
+        if (rows.size() <= limit) {
+            return new TodoPage(rows, null);
+        }
+        List<Todo> items = rows.subList(0, limit);
+        return new TodoPage(items, items.get(limit - 1).getId());
     }
 
-    public List<Todo> getAllTodosForAdmin() {
-        return todoRepository.findAll();
+    private static final class CounterDelta {
+        private long total;
+        private long completed;
     }
 }
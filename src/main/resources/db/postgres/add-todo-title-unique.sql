@@ -0,0 +1,43 @@
+-- Removes duplicate (owner_id, title) rows left by concurrent creates and renames, then adds the
+-- uk_todo_owner_title constraint that now rejects them. Run once against a database created
+-- before the constraint existed, before the new version starts and before
+-- partition-todo-by-owner.sql (re-running it is harmless):
+--
+--   psql "$DATABASE_URL" -f add-todo-title-unique.sql
+--
+-- For each duplicated title the oldest row (lowest id) is kept. The owners' todo_counter rows are
+-- reduced by what was deleted and their version bumped, so cached lists are reloaded.
+
+BEGIN;
+
+LOCK TABLE todo IN SHARE ROW EXCLUSIVE MODE;
+
+WITH removed AS (
+    DELETE FROM todo t
+    USING todo kept
+    WHERE kept.owner_id = t.owner_id
+      AND kept.title = t.title
+      AND kept.id < t.id
+    RETURNING t.owner_id, t.status
+), removed_counts AS (
+    SELECT owner_id, count(*) AS total, count(*) FILTER (WHERE status) AS completed
+    FROM removed
+    GROUP BY owner_id
+)
+UPDATE todo_counter c
+SET total = c.total - r.total,
+    completed = c.completed - r.completed,
+    version = c.version + 1
+FROM removed_counts r
+WHERE c.owner_id = r.owner_id;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conname = 'uk_todo_owner_title' AND conrelid = 'todo'::regclass) THEN
+        ALTER TABLE todo ADD CONSTRAINT uk_todo_owner_title UNIQUE (owner_id, title);
+    END IF;
+END
+$$;
+
+COMMIT;
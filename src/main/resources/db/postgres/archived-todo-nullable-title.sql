@@ -0,0 +1,8 @@
+-- Lets archived_todo.title hold NULL, as todo.title always could. Tasks created without a title
+-- before titles were required otherwise fail the archiver's insert-select and stop archiving for
+-- every user. Run once against a database whose archived_todo was created with the NOT NULL column
+-- (re-running it is harmless):
+--
+--   psql "$DATABASE_URL" -f archived-todo-nullable-title.sql
+
+ALTER TABLE archived_todo ALTER COLUMN title DROP NOT NULL;
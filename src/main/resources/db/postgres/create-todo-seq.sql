@@ -0,0 +1,31 @@
+-- Creates the todo_seq sequence that Todo ids are drawn from and moves it past every id already
+-- handed out. Run once against a database created before the switch from IDENTITY, before the
+-- new version starts (re-running it is harmless):
+--
+--   psql "$DATABASE_URL" -f create-todo-seq.sql
+--
+-- Hibernate's pooled optimizer treats each nextval as the top of a block of 50, so the next value
+-- must be at least max(id) + 50 for the first block (max(id) + 1 .. max(id) + 50) to be free.
+-- Archived tasks keep their ids, so archived_todo is included when it exists.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS todo_seq INCREMENT BY 50;
+ALTER SEQUENCE todo_seq INCREMENT BY 50;
+
+LOCK TABLE todo IN SHARE ROW EXCLUSIVE MODE;
+
+DO $$
+DECLARE
+    top bigint;
+BEGIN
+    SELECT coalesce(max(id), 0) INTO top FROM todo;
+    IF to_regclass('archived_todo') IS NOT NULL THEN
+        top := greatest(top, (SELECT coalesce(max(id), 0) FROM archived_todo));
+    END IF;
+    top := greatest(top, (SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM todo_seq));
+    PERFORM setval('todo_seq', top + 50, false);
+END
+$$;
+
+COMMIT;
@@ -0,0 +1,53 @@
+-- Rebuilds the live todo table as HASH(owner_id) partitions so each user's working set, its
+-- indexes and the archiver's deletes stay within one small partition. Run once, during a
+-- maintenance window, against a schema that already has completed_at (Hibernate's ddl-auto
+-- cannot create partitions):
+--
+--   psql "$DATABASE_URL" -v partitions=16 -f partition-todo-by-owner.sql
+--
+-- Postgres requires the partition key in every unique constraint, hence the (owner_id, id)
+-- primary key; (owner_id, title) already contains it. Ids are still unique through todo_seq.
+
+\if :{?partitions}
+\else
+  \set partitions 16
+\endif
+
+BEGIN;
+
+LOCK TABLE todo IN ACCESS EXCLUSIVE MODE;
+ALTER TABLE todo RENAME TO todo_unpartitioned;
+ALTER TABLE todo_unpartitioned RENAME CONSTRAINT uk_todo_owner_title TO uk_todo_unpartitioned_owner_title;
+ALTER INDEX idx_todo_owner_id RENAME TO idx_todo_unpartitioned_owner_id;
+ALTER INDEX idx_todo_owner_status_id RENAME TO idx_todo_unpartitioned_owner_status_id;
+ALTER INDEX IF EXISTS idx_todo_status_completed_at RENAME TO idx_todo_unpartitioned_status_completed_at;
+
+CREATE TABLE todo (
+    id           bigint                      NOT NULL,
+    owner_id     bigint                      NOT NULL REFERENCES app_user (id),
+    title        varchar(255),
+    status       boolean                     NOT NULL,
+    completed_at timestamp(6) with time zone,
+    PRIMARY KEY (owner_id, id),
+    CONSTRAINT uk_todo_owner_title UNIQUE (owner_id, title)
+) PARTITION BY HASH (owner_id);
+
+SELECT format('CREATE TABLE todo_p%s PARTITION OF todo FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+              remainder, :partitions, remainder)
+FROM generate_series(0, :partitions - 1) AS remainder
+\gexec
+
+CREATE INDEX idx_todo_id ON todo (id);
+CREATE INDEX idx_todo_owner_id ON todo (owner_id, id);
+CREATE INDEX idx_todo_owner_status_id ON todo (owner_id, status, id);
+CREATE INDEX idx_todo_status_completed_at ON todo (status, completed_at);
+
+INSERT INTO todo (id, owner_id, title, status, completed_at)
+SELECT id, owner_id, title, status, completed_at
+FROM todo_unpartitioned;
+
+DROP TABLE todo_unpartitioned;
+
+COMMIT;
+
+ANALYZE todo;
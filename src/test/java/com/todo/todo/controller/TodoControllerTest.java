@@ -0,0 +1,75 @@
+package com.todo.todo.controller;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:todo-controller;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false",
+        "todo.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+class TodoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void listEtagsDifferBetweenUsersWithEqualVersions() throws Exception {
+        Cookie alice = signup("alice");
+        Cookie bob = signup("bob");
+        create(alice, "alice's task");
+        create(bob, "bob's task");
+
+        for (String path : new String[] {"/todos", "/todos/status/false"}) {
+            String aliceEtag = mockMvc.perform(get(path).cookie(alice))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            String bobEtag = mockMvc.perform(get(path).cookie(bob))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            assertThat(bobEtag).isNotEqualTo(aliceEtag);
+
+            mockMvc.perform(get(path).cookie(bob).header(HttpHeaders.IF_NONE_MATCH, aliceEtag))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("bob's task")))
+                    .andExpect(content().string(not(containsString("alice's task"))));
+            mockMvc.perform(get(path).cookie(bob).header(HttpHeaders.IF_NONE_MATCH, bobEtag))
+                    .andExpect(status().isNotModified());
+        }
+    }
+
+    private Cookie signup(String username) throws Exception {
+        Cookie session = mockMvc.perform(post("/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"email\":\"" + username
+                                + "@example.com\",\"password\":\"Passw0rd!Passw0rd\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getCookie("TODO_SESSION");
+        assertThat(session).isNotNull();
+        return session;
+    }
+
+    private void create(Cookie session, String title) throws Exception {
+        mockMvc.perform(post("/todos").cookie(session)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"" + title + "\",\"status\":false}"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,63 @@
+package com.todo.todo.service;
+
+import com.todo.todo.model.AppUser;
+import com.todo.todo.model.Role;
+import com.todo.todo.repository.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:todo-availability;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false",
+        "todo.availability.initial-delay-ms=3600000",
+        "todo.availability.poll-interval-ms=3600000"
+})
+class AccountAvailabilityServiceTest {
+
+    @Autowired
+    private AccountAvailabilityService accountAvailabilityService;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pollPicksUpSignupsThatCommitBelowTheLastSeenId() {
+        accountAvailabilityService.rebuild();
+        insertFromAnotherNode(1001, "early");
+        accountAvailabilityService.addNewUsers();
+        assertThat(accountAvailabilityService.isUsernameAvailable("early")).isFalse();
+
+        insertFromAnotherNode(1000, "late");
+        accountAvailabilityService.addNewUsers();
+
+        assertThat(accountAvailabilityService.isUsernameAvailable("late")).isFalse();
+        assertThat(accountAvailabilityService.isEmailAvailable("late@example.com")).isFalse();
+    }
+
+    @Test
+    void changedUsernamesAndEmailsAreRegistered() {
+        accountAvailabilityService.rebuild();
+        AppUser user = appUserRepository.save(new AppUser(null, "before", "before@example.com", "{noop}secret", Role.USER));
+
+        user.setUsername("after");
+        user.setEmail("after@example.com");
+        appUserRepository.save(user);
+
+        assertThat(accountAvailabilityService.isUsernameAvailable("after")).isFalse();
+        assertThat(accountAvailabilityService.isEmailAvailable("after@example.com")).isFalse();
+    }
+
+    private void insertFromAnotherNode(long id, String username) {
+        jdbcTemplate.update("insert into app_user (id, username, email, password_hash, role) values (?, ?, ?, ?, ?)",
+                id, username, username + "@example.com", "{noop}secret", Role.USER.name());
+    }
+}
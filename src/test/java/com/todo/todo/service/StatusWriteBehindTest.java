@@ -0,0 +1,143 @@
+package com.todo.todo.service;
+
+import com.todo.todo.model.AppUser;
+import com.todo.todo.model.Role;
+import com.todo.todo.model.Todo;
+import com.todo.todo.repository.AppUserRepository;
+import com.todo.todo.repository.TodoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:todo-write-behind;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false",
+        "todo.write-behind.enabled=true",
+        "todo.write-behind.window-ms=3600000"
+})
+class StatusWriteBehindTest {
+
+    @Autowired
+    private StatusWriteBehind statusWriteBehind;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void togglesAreCoalescedIntoOneWrite() {
+        AppUser user = createUser("toggler");
+        Todo todo = todoService.createTodoForUser(user, todo("toggle me", false));
+        double written = meterRegistry.counter("todo.write-behind.written").count();
+
+        for (boolean status : new boolean[]{true, false, true}) {
+            assertThat(todoService.deferStatusUpdateForUser(user, todo.getId(), todo("toggle me", status))).isPresent();
+        }
+        assertThat(statusWriteBehind.pending(user.getId(), todo.getId()))
+                .contains(new StatusWriteBehind.Pending("toggle me", true));
+        assertThat(todoRepository.findById(todo.getId())).get().extracting(Todo::isStatus).isEqualTo(false);
+
+        statusWriteBehind.flush(user.getId());
+
+        assertThat(meterRegistry.counter("todo.write-behind.written").count()).isEqualTo(written + 1);
+        assertThat(todoRepository.findById(todo.getId())).get().extracting(Todo::isStatus).isEqualTo(true);
+        assertThat(todoService.countCompletedForUser(user)).isEqualTo(1);
+        assertThat(statusWriteBehind.pending(user.getId(), todo.getId())).isEmpty();
+    }
+
+    @Test
+    void readsSeeDeferredChanges() {
+        AppUser user = createUser("reader");
+        Todo todo = todoService.createTodoForUser(user, todo("read me", false));
+
+        todoService.deferStatusUpdateForUser(user, todo.getId(), todo("read me", true));
+
+        assertThat(todoService.getTodoByIdForUser(user, todo.getId()).isStatus()).isTrue();
+        assertThat(todoService.getAllTodosForUser(user)).singleElement().extracting(view -> view.status()).isEqualTo(true);
+        assertThat(statusWriteBehind.pending(user.getId(), todo.getId())).isEmpty();
+    }
+
+    @Test
+    void rolledBackFlushKeepsChangesPending() {
+        AppUser user = createUser("rollback");
+        Todo todo = todoService.createTodoForUser(user, todo("roll back", false));
+        todoService.deferStatusUpdateForUser(user, todo.getId(), todo("roll back", true));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            statusWriteBehind.flush(user.getId());
+            status.setRollbackOnly();
+        });
+
+        assertThat(statusWriteBehind.pending(user.getId(), todo.getId())).isPresent();
+        assertThat(todoRepository.findById(todo.getId())).get().extracting(Todo::isStatus).isEqualTo(false);
+        statusWriteBehind.flush(user.getId());
+        assertThat(todoRepository.findById(todo.getId())).get().extracting(Todo::isStatus).isEqualTo(true);
+        assertThat(todoService.countCompletedForUser(user)).isEqualTo(1);
+    }
+
+    @Test
+    void flushAllSkipsOwnersFlushedByAnOpenTransaction() throws Exception {
+        AppUser user = createUser("busy");
+        Todo first = todoService.createTodoForUser(user, todo("first", false));
+        Todo second = todoService.createTodoForUser(user, todo("second", false));
+        todoService.deferStatusUpdateForUser(user, first.getId(), todo("first", true));
+        CountDownLatch flushed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> transaction = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    statusWriteBehind.flush(user.getId());
+                    flushed.countDown();
+                    await(release);
+                }));
+        flushed.await();
+
+        todoService.deferStatusUpdateForUser(user, second.getId(), todo("second", true));
+        assertTimeoutPreemptively(Duration.ofSeconds(2), statusWriteBehind::flushAll);
+        assertThat(statusWriteBehind.pending(user.getId(), second.getId())).isPresent();
+
+        release.countDown();
+        transaction.join();
+        statusWriteBehind.flushAll();
+        assertThat(statusWriteBehind.pending(user.getId(), second.getId())).isEmpty();
+        assertThat(todoService.countCompletedForUser(user)).isEqualTo(2);
+    }
+
+    private AppUser createUser(String username) {
+        return appUserRepository.save(new AppUser(null, username, username + "@example.com", "{noop}secret", Role.USER));
+    }
+
+    private static Todo todo(String title, boolean status) {
+        return new Todo(null, title, status, null, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.todo.todo.service;
+
+import com.todo.todo.model.AppUser;
+import com.todo.todo.model.Role;
+import com.todo.todo.model.Todo;
+import com.todo.todo.repository.AppUserRepository;
+import com.todo.todo.repository.TodoCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:todo-cache;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false",
+        "todo.cache.max-todos=50",
+        "todo.cache.poll-interval-ms=3600000"
+})
+class TodoCacheTest {
+
+    @Autowired
+    private TodoCache todoCache;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private TodoCounterRepository todoCounterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void writesAreAppliedWithoutReloading() {
+        AppUser user = createUser("writer");
+        Todo first = todoService.createTodoForUser(user, todo("first", false));
+        assertThat(todoCache.findById(user.getId(), first.getId())).isPresent();
+        long loads = todoCache.stats().loadCount();
+
+        Todo second = todoService.createTodoForUser(user, todo("second", false));
+        todoService.updateTodoForUser(user, first.getId(), todo("renamed", true));
+        todoService.deleteTodoForUser(user, second.getId());
+
+        assertThat(todoCache.findByTitle(user.getId(), "first")).isEmpty();
+        assertThat(todoCache.findByTitle(user.getId(), "renamed")).get().extracting(Todo::isStatus).isEqualTo(true);
+        assertThat(todoCache.findById(user.getId(), second.getId())).isEmpty();
+        assertThat(todoCache.search(user.getId(), "renam", 10)).extracting(Todo::getTitle).containsExactly("renamed");
+        assertThat(todoCache.stats().loadCount()).isEqualTo(loads);
+    }
+
+    @Test
+    void versionPollDropsSnapshotsChangedElsewhere() {
+        AppUser user = createUser("elsewhere");
+        todoService.createTodoForUser(user, todo("local", false));
+        assertThat(todoCache.findByTitle(user.getId(), "local")).isPresent();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                todoCounterRepository.adjust(user.getId(), 0, 0));
+        long loads = todoCache.stats().loadCount();
+        todoCache.dropStaleSnapshots();
+        todoCache.findByTitle(user.getId(), "local");
+
+        assertThat(todoCache.stats().loadCount()).isEqualTo(loads + 1);
+    }
+
+    @Test
+    void ownersLargerThanTheCacheAreServedFromTheDatabase() {
+        AppUser user = createUser("hoarder");
+        for (int i = 0; i < 60; i++) {
+            todoService.createTodoForUser(user, todo("report " + i, false));
+        }
+        Todo exact = todoService.createTodoForUser(user, todo("report", true));
+
+        assertThat(todoCache.findById(user.getId(), exact.getId())).isPresent();
+        assertThat(todoCache.findByTitle(user.getId(), "report 7")).isPresent();
+        assertThat(todoCache.search(user.getId(), "REPORT", 3)).extracting(Todo::getTitle)
+                .containsExactly("report", "report 0", "report 1");
+        assertThat(todoCache.search(user.getId(), "re", 100)).hasSize(61);
+        assertThat(todoCache.search(user.getId(), "po", 100)).isEmpty();
+        long loads = todoCache.stats().loadCount();
+        todoCache.findByTitle(user.getId(), "report 8");
+        assertThat(todoCache.stats().loadCount()).isEqualTo(loads);
+    }
+
+    private AppUser createUser(String username) {
+        return appUserRepository.save(new AppUser(null, username, username + "@example.com", "{noop}secret", Role.USER));
+    }
+
+    private static Todo todo(String title, boolean status) {
+        return new Todo(null, title, status, null, null);
+    }
+}
@@ -0,0 +1,81 @@
+package com.todo.todo.service;
+
+import com.todo.todo.dto.TodoImportResponse;
+import com.todo.todo.model.AppUser;
+import com.todo.todo.model.Role;
+import com.todo.todo.model.Todo;
+import com.todo.todo.repository.AppUserRepository;
+import com.todo.todo.repository.TodoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:todo-import;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false"
+})
+class TodoImportServiceTest {
+
+    @Autowired
+    private TodoImportService todoImportService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void retriesChunkWhenTitleIsCreatedConcurrently() throws Exception {
+        AppUser user = appUserRepository.save(new AppUser(null, "importer", "importer@example.com", "{noop}secret", Role.USER));
+        CountDownLatch created = new CountDownLatch(1);
+        CompletableFuture<Void> concurrentCreate = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    todoService.createTodoForUser(user, new Todo(null, "b", false, null, null));
+                    created.countDown();
+                    sleep(1000);
+                }));
+        created.await();
+
+        TodoImportResponse response = todoImportService.importJson(user, json(
+                "[{\"title\":\"a\"},{\"title\":\"b\",\"status\":true},{\"title\":\"c\"}]"));
+        concurrentCreate.join();
+
+        assertThat(response.imported()).isEqualTo(2);
+        assertThat(response.duplicates()).isEqualTo(1);
+        List<String> titles = todoRepository.findByOwnerId(user.getId()).stream().map(Todo::getTitle).toList();
+        assertThat(titles).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(todoService.countTotalForUser(user)).isEqualTo(3);
+        assertThat(todoService.countCompletedForUser(user)).isZero();
+    }
+
+    private static ByteArrayInputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
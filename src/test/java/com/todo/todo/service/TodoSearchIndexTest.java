@@ -0,0 +1,58 @@
+package com.todo.todo.service;
+
+import com.todo.todo.model.Todo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoSearchIndexTest {
+
+    private static final String[] WORDS = {"buy", "milk", "report", "re-plan", "sprint", "Rep", "bug", "x"};
+    private static final String[] QUERIES = {"r", "re", "rep", "report", "sprint 1", "bug", "-p", "ilk b", "zzz"};
+
+    @Test
+    void changesMatchAFullRebuild() {
+        Random random = new Random(7);
+        Map<Long, TodoCache.CachedTodo> todos = new HashMap<>();
+        for (long id = 1; id <= 2000; id++) {
+            todos.put(id, todo(random, id));
+        }
+        TodoSearchIndex index = new TodoSearchIndex(todos.values());
+        long nextId = 2001;
+
+        for (int step = 0; step < 600; step++) {
+            int operation = random.nextInt(3);
+            List<Long> ids = new ArrayList<>(todos.keySet());
+            Long id = operation == 0 || ids.isEmpty() ? nextId++ : ids.get(random.nextInt(ids.size()));
+            TodoCache.CachedTodo changed = operation == 2 ? null : todo(random, id);
+            if (changed == null) {
+                todos.remove(id);
+            } else {
+                todos.put(id, changed);
+            }
+            index = index.withChange(id, changed);
+
+            if (step % 50 == 0 || step == 599) {
+                TodoSearchIndex rebuilt = new TodoSearchIndex(todos.values());
+                for (String query : QUERIES) {
+                    assertThat(titles(index.search(query, 25))).as(query).isEqualTo(titles(rebuilt.search(query, 25)));
+                }
+            }
+        }
+    }
+
+    private static TodoCache.CachedTodo todo(Random random, long id) {
+        String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(30);
+        return new TodoCache.CachedTodo(id, title, random.nextBoolean());
+    }
+
+    private static List<String> titles(List<Todo> todos) {
+        return todos.stream().map(todo -> todo.getId() + ":" + todo.getTitle() + ":" + todo.isStatus()).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.todo.todo.service;
+
+import com.todo.todo.model.AppUser;
+import com.todo.todo.model.Role;
+import com.todo.todo.model.Todo;
+import com.todo.todo.repository.AppUserRepository;
+import com.todo.todo.repository.TodoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:todo-concurrency;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false"
+})
+class TodoServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Test
+    void parallelCreatesOfTheSameTitleKeepOneRow() throws Exception {
+        AppUser user = createUser("creator");
+
+        List<HttpStatus> outcomes = runConcurrently(i -> () -> todoService.createTodoForUser(user, todo("same")));
+
+        assertThat(outcomes).containsOnly(HttpStatus.OK, HttpStatus.CONFLICT);
+        assertThat(outcomes).filteredOn(HttpStatus.OK::equals).hasSize(1);
+        assertNoDuplicateTitles(user, 1);
+    }
+
+    @Test
+    void parallelRenamesToTheSameTitleKeepOneRow() throws Exception {
+        AppUser user = createUser("renamer");
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            ids.add(todoService.createTodoForUser(user, todo("task " + i)).getId());
+        }
+
+        List<HttpStatus> outcomes = runConcurrently(i -> () -> todoService.updateTodoForUser(user, ids.get(i), todo("target")));
+
+        assertThat(outcomes).containsOnly(HttpStatus.OK, HttpStatus.CONFLICT);
+        assertThat(outcomes).filteredOn(HttpStatus.OK::equals).hasSize(1);
+        assertNoDuplicateTitles(user, THREADS);
+        assertThat(todoRepository.findByOwnerId(user.getId())).filteredOn(todo -> todo.getTitle().equals("target")).hasSize(1);
+    }
+
+    private List<HttpStatus> runConcurrently(IntFunction<Callable<Todo>> task) throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<HttpStatus>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Callable<Todo> call = task.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        call.call();
+                        return HttpStatus.OK;
+                    } catch (ResponseStatusException exception) {
+                        return HttpStatus.valueOf(exception.getStatusCode().value());
+                    }
+                }));
+            }
+            start.countDown();
+            List<HttpStatus> outcomes = new ArrayList<>();
+            for (Future<HttpStatus> future : futures) {
+                outcomes.add(future.get());
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertNoDuplicateTitles(AppUser user, int expectedRows) {
+        List<String> titles = todoRepository.findByOwnerId(user.getId()).stream().map(Todo::getTitle).toList();
+        assertThat(titles).hasSize(expectedRows).doesNotHaveDuplicates();
+        assertThat(todoService.countTotalForUser(user)).isEqualTo(expectedRows);
+    }
+
+    private AppUser createUser(String username) {
+        return appUserRepository.save(new AppUser(null, username, username + "@example.com", "{noop}secret", Role.USER));
+    }
+
+    private static Todo todo(String title) {
+        return new Todo(null, title, false, null, null);
+    }
+}
@@ -0,0 +1,156 @@
+package com.todo.todo.service;
+
+import com.todo.todo.dto.TodoView;
+import com.todo.todo.dto.TodoViewPage;
+import com.todo.todo.metrics.SqlStatementCounter;
+import com.todo.todo.model.AppUser;
+import com.todo.todo.model.ArchivedTodo;
+import com.todo.todo.model.Role;
+import com.todo.todo.model.Todo;
+import com.todo.todo.repository.AppUserRepository;
+import com.todo.todo.repository.ArchivedTodoRepository;
+import com.todo.todo.repository.TodoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:todo-service;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.datasource.username=sa",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "todo.archive.enabled=false"
+})
+class TodoServiceTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoCache todoCache;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void mutationsDoNotReadTheRowFirst() {
+        AppUser user = createUser("counted");
+        Todo todo = todoService.createTodoForUser(user, todo("count me", false));
+        Todo other = todoService.createTodoForUser(user, todo("other", true));
+        todoCache.invalidate(user.getId());
+
+        assertThat(statements(() -> todoService.updateTodoForUser(user, todo.getId(), todo("count me", true)))).isEqualTo(2);
+        assertThat(statements(() -> todoService.deleteTodoForUser(user, other.getId()))).isEqualTo(3);
+
+        todoService.getTodoByIdForUser(user, todo.getId());
+        assertThat(statements(() -> todoService.updateTodoByTitleForUser(user, "count me", todo("renamed", true)))).isEqualTo(3);
+        assertThat(statements(() -> todoService.deleteTodoByTitleForUser(user, "renamed"))).isEqualTo(3);
+        assertThat(todoService.countTotalForUser(user)).isZero();
+        assertThat(todoService.countCompletedForUser(user)).isZero();
+    }
+
+    @Test
+    void missingTodosAreNotFoundAndDuplicateTitlesConflict() {
+        AppUser user = createUser("checked");
+        Todo first = todoService.createTodoForUser(user, todo("first", false));
+        todoService.createTodoForUser(user, todo("second", true));
+
+        assertThat(status(() -> todoService.updateTodoForUser(user, first.getId() + 100, todo("x", false)))).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(status(() -> todoService.deleteTodoForUser(user, first.getId() + 100))).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(status(() -> todoService.deleteTodoByTitleForUser(user, "missing"))).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(status(() -> todoService.updateTodoForUser(user, first.getId(), todo("second", false)))).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(status(() -> todoService.updateTodoByTitleForUser(user, "first", todo("second", true)))).isEqualTo(HttpStatus.CONFLICT);
+
+        todoService.updateTodoByTitleForUser(user, "second", todo("second", false));
+        assertThat(todoService.countTotalForUser(user)).isEqualTo(2);
+        assertThat(todoService.countCompletedForUser(user)).isZero();
+    }
+
+    @Test
+    void blankTitlesAreRejected() {
+        AppUser user = createUser("blank");
+        Todo todo = todoService.createTodoForUser(user, todo("titled", false));
+
+        assertThat(status(() -> todoService.createTodoForUser(user, todo(null, false)))).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(status(() -> todoService.createTodoForUser(user, todo("  ", false)))).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(status(() -> todoService.updateTodoForUser(user, todo.getId(), todo(null, true)))).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(status(() -> todoService.updateTodoByTitleForUser(user, "titled", todo("", true)))).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(todoService.getTodoByIdForUser(user, todo.getId()).getTitle()).isEqualTo("titled");
+    }
+
+    @Test
+    void todosWithoutTitleCanBeArchived() {
+        AppUser user = createUser("legacy");
+        Todo legacy = new Todo(null, null, true, null, null);
+        legacy.setOwner(user);
+        Long id = todoRepository.save(legacy).getId();
+
+        Integer archived = new TransactionTemplate(transactionManager).execute(status ->
+                archivedTodoRepository.archive(List.of(id), Instant.now()));
+
+        assertThat(archived).isEqualTo(1);
+        assertThat(archivedTodoRepository.findById(id)).get().extracting(ArchivedTodo::getTitle).isNull();
+    }
+
+    @Test
+    void archivedTodosArePagedWithACursor() {
+        AppUser user = createUser("archivist");
+        List<Long> ids = List.of(
+                todoService.createTodoForUser(user, todo("old 1", true)).getId(),
+                todoService.createTodoForUser(user, todo("old 2", true)).getId(),
+                todoService.createTodoForUser(user, todo("old 3", true)).getId());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                archivedTodoRepository.archive(ids, Instant.now()));
+
+        TodoViewPage first = todoService.getArchivedTodoPageForUser(user, null, 2);
+        TodoViewPage second = todoService.getArchivedTodoPageForUser(user, first.next(), 2);
+
+        assertThat(first.items()).extracting(TodoView::title).containsExactly("old 1", "old 2");
+        assertThat(first.next()).isEqualTo(ids.get(1));
+        assertThat(second.items()).extracting(TodoView::title).containsExactly("old 3");
+        assertThat(second.next()).isNull();
+    }
+
+    private int statements(Runnable action) {
+        sqlStatementCounter.begin();
+        action.run();
+        return sqlStatementCounter.end();
+    }
+
+    private static HttpStatus status(Runnable action) {
+        try {
+            action.run();
+            return HttpStatus.OK;
+        } catch (ResponseStatusException exception) {
+            return HttpStatus.valueOf(exception.getStatusCode().value());
+        }
+    }
+
+    private AppUser createUser(String username) {
+        return appUserRepository.save(new AppUser(null, username, username + "@example.com", "{noop}secret", Role.USER));
+    }
+
+    private static Todo todo(String title, boolean status) {
+        return new Todo(null, title, status, null, null);
+    }
+}